@@ -0,0 +1,51 @@
+package com.piechartview.views;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented test, which will execute on an Android device.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PieSliceDrawableTest {
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void updateBounds_doesNotAllocate() {
+        Context context = InstrumentationRegistry.getTargetContext();
+
+        PieSliceDrawable slice = new PieSliceDrawable(null, context);
+        slice.setPercent(0.25f);
+        slice.setDegreeOffset(45f);
+
+        Rect bounds = new Rect(0, 0, 500, 500);
+
+        // Warm up so lazily created state is not counted
+        slice.setBounds(bounds);
+        slice.setStokeWidth(2f);
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+
+        for (int i = 0; i < 1000; i++) {
+            bounds.right = 500 + i % 10;
+            bounds.bottom = 500 + i % 10;
+
+            slice.setDegreeOffset(i % 360);
+            slice.setBounds(bounds);
+            slice.setStokeWidth(i % 3);
+        }
+
+        Debug.stopAllocCounting();
+
+        assertEquals(0, Debug.getThreadAllocCount());
+    }
+}
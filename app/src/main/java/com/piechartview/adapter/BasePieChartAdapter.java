@@ -1,13 +1,21 @@
 package com.piechartview.adapter;
 
+import java.util.ArrayList;
+
+import com.piechartview.core.SliceSource;
+import com.piechartview.extra.ChartPalette;
 import com.piechartview.views.PieChartView;
 import com.piechartview.views.PieSliceDrawable;
 
+import android.graphics.Color;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.BaseAdapter;
 
-public abstract class BasePieChartAdapter extends BaseAdapter {
+public abstract class BasePieChartAdapter extends BaseAdapter implements SliceSource {
+	
+	private final ArrayList<PieChartDataObserver> mPieChartObservers = new ArrayList<PieChartDataObserver>();
+	private ChartPalette mPalette;
 
 	@Override
 	public long getItemId(int position) {
@@ -19,6 +27,124 @@ public abstract class BasePieChartAdapter extends BaseAdapter {
 		throw new RuntimeException("Exception");
 	}
 	
-	public abstract PieSliceDrawable getSlice(PieChartView parent, PieSliceDrawable convertDrawable, int position, float offset);
+	/**
+	 * Returns the sum of all percents. Adapters that keep running totals
+	 * should override this to avoid walking every position.
+	 */
+	public float getTotal() {
+		
+		float total = 0;
+		
+		for (int i = 0; i < getCount(); i++) {
+			total += getPercent(i);
+		}
+		
+		return total;
+	}
+	
+	public void registerPieChartDataObserver(PieChartDataObserver observer) {
+		
+		synchronized (mPieChartObservers) {
+			
+			if (!mPieChartObservers.contains(observer)) {
+				mPieChartObservers.add(observer);
+			}
+		}
+	}
+	
+	public void unregisterPieChartDataObserver(PieChartDataObserver observer) {
+		
+		synchronized (mPieChartObservers) {
+			mPieChartObservers.remove(observer);
+		}
+	}
+	
+	/**
+	 * Notifies attached charts that the item at position changed. Unlike
+	 * {@link #notifyDataSetChanged()} only that slice and the offsets of the
+	 * slices after it are recomputed.
+	 */
+	public void notifyItemChanged(int position) {
+		notifyItemRangeChanged(position, 1);
+	}
+	
+	public void notifyItemRangeChanged(int positionStart, int itemCount) {
+		
+		synchronized (mPieChartObservers) {
+			for (int i = mPieChartObservers.size() - 1; i >= 0; i--) {
+				mPieChartObservers.get(i).onItemRangeChanged(positionStart, itemCount);
+			}
+		}
+	}
+	
+	public void notifyItemInserted(int position) {
+		notifyItemRangeInserted(position, 1);
+	}
+	
+	public void notifyItemRangeInserted(int positionStart, int itemCount) {
+		
+		synchronized (mPieChartObservers) {
+			for (int i = mPieChartObservers.size() - 1; i >= 0; i--) {
+				mPieChartObservers.get(i).onItemRangeInserted(positionStart, itemCount);
+			}
+		}
+	}
+	
+	public void notifyItemRemoved(int position) {
+		notifyItemRangeRemoved(position, 1);
+	}
+	
+	public void notifyItemRangeRemoved(int positionStart, int itemCount) {
+		
+		synchronized (mPieChartObservers) {
+			for (int i = mPieChartObservers.size() - 1; i >= 0; i--) {
+				mPieChartObservers.get(i).onItemRangeRemoved(positionStart, itemCount);
+			}
+		}
+	}
+	
+	/**
+	 * Binds the slice for the item at position, reusing convertDrawable when
+	 * it is not null. The chart copies the color, percent and stroke of the
+	 * returned slice and keeps no reference to it, so there is no need to
+	 * override this unless a slice needs more than {@link #getSliceColor(int)}
+	 * and {@link #getPercent(int)}. parent is null when the chart is drawn
+	 * headless by a {@link com.piechartview.views.PieChartRenderer}.
+	 */
+	public PieSliceDrawable getSlice(PieChartView parent, PieSliceDrawable convertDrawable, int position, float offset) {
+		
+		PieSliceDrawable sliceView = convertDrawable;
+		
+		if (sliceView == null) {
+			sliceView = new PieSliceDrawable(parent, parent.getContext());
+		}
+		
+		sliceView.setSliceColor(getSliceColor(position));
+		sliceView.setPercent(getPercent(position));
+		sliceView.setDegreeOffset(offset);
+		
+		return sliceView;
+	}
+	
+	/**
+	 * Returns the color of the slice at position, used by the default
+	 * {@link #getSlice} binding. Picked from the palette by default.
+	 */
+	public int getSliceColor(int position) {
+		return mPalette != null ? mPalette.getColor(position) : Color.GRAY;
+	}
+	
+	/**
+	 * Sets the palette slice colors are picked from, call
+	 * notifyDataSetChanged afterwards to recolor a chart already showing
+	 */
+	public void setPalette(ChartPalette palette) {
+		mPalette = palette;
+	}
+	
+	public ChartPalette getPalette() {
+		return mPalette;
+	}
+	
 	public abstract float getPercent(int position);
 }
@@ -0,0 +1,128 @@
+package com.piechartview.adapter;
+
+import android.content.Context;
+
+import com.piechartview.extra.ChartPalette;
+
+/**
+ * Adapter backed by a primitive float array. Values can be replaced in place
+ * without boxing, and the running totals are kept as prefix sums so
+ * {@link #getTotal()} and {@link #getOffset(int)} are constant time.
+ */
+public class FloatArrayPieChartAdapter extends BasePieChartAdapter {
+    
+    public final String TAG = this.getClass().getSimpleName();
+
+	private float[] mValues;
+	private float[] mOffsets;
+	private int mCount;
+	private boolean mOffsetsDirty;
+	
+	public FloatArrayPieChartAdapter(Context context, float[] values) {
+		this(context, values, values.length);
+	}
+	
+	public FloatArrayPieChartAdapter(Context context, float[] values, int count) {
+		
+		mValues = new float[0];
+		mOffsets = new float[1];
+		
+		setPalette(ChartPalette.getDefault(context));
+		
+		setValues(values, count);
+	}
+	
+	@Override
+	public int getCount() {
+		return mCount;
+	}
+
+	/**
+	 * Boxes the value, prefer {@link #getPercent(int)}.
+	 */
+	@Override
+	public Object getItem(int position) {
+		return getPercent(position);
+	}
+
+	@Override
+	public float getPercent(int position) {
+		
+		checkPosition(position);
+		
+		return mValues[position];
+	}
+	
+	@Override
+	public float getTotal() {
+		
+		updateOffsets();
+		
+		return mOffsets[mCount];
+	}
+	
+	/**
+	 * Returns the sum of the percents before the given position.
+	 */
+	public float getOffset(int position) {
+		
+		updateOffsets();
+		
+		return mOffsets[position];
+	}
+	
+	/**
+	 * Replaces the values by copying them into the existing storage, which
+	 * only grows when count exceeds its capacity. Call
+	 * {@link #notifyDataSetChanged()} afterwards to update attached charts.
+	 * 
+	 * @param values The new percents
+	 * @param count The number of values to use from the array
+	 */
+	public void setValues(float[] values, int count) {
+		
+		if (count > mValues.length) {
+			mValues = new float[count];
+			mOffsets = new float[count + 1];
+		}
+		
+		System.arraycopy(values, 0, mValues, 0, count);
+		mCount = count;
+		mOffsetsDirty = true;
+	}
+	
+	/**
+	 * Replaces a single value. Call {@link #notifyItemChanged(int)} afterwards
+	 * to update attached charts.
+	 * 
+	 * @throws IndexOutOfBoundsException If position is not below {@link #getCount()}
+	 */
+	public void setValue(int position, float value) {
+		
+		checkPosition(position);
+		
+		mValues[position] = value;
+		mOffsetsDirty = true;
+	}
+	
+	/**
+	 * The arrays may be longer than the count, slots past it hold stale values
+	 */
+	private void checkPosition(int position) {
+		
+		if (position < 0 || position >= mCount) {
+			throw new IndexOutOfBoundsException("position " + position + ", count " + mCount);
+		}
+	}
+	
+	private void updateOffsets() {
+		
+		if (!mOffsetsDirty) return;
+		
+		for (int i = 0; i < mCount; i++) {
+			mOffsets[i + 1] = mOffsets[i] + mValues[i];
+		}
+		
+		mOffsetsDirty = false;
+	}
+}
@@ -4,15 +4,12 @@ import java.util.List;
 
 import android.content.Context;
 
-import com.piechartview.extra.UiUtils;
-import com.piechartview.views.PieChartView;
-import com.piechartview.views.PieSliceDrawable;
+import com.piechartview.extra.ChartPalette;
 
 public class PieChartAdapter extends BasePieChartAdapter {
     
     public final String TAG = this.getClass().getSimpleName();
 
-	private Context mContext;
 	private List<Float> mObjects;
 	
 	public PieChartAdapter(Context context, List<Float> objects) {
@@ -31,30 +28,14 @@ public class PieChartAdapter extends BasePieChartAdapter {
 	
 	private void init(Context context, List<Float> objects) {
 		
-		mContext = context;
 		mObjects = objects;
+		
+		setPalette(ChartPalette.getDefault(context));
 	}
 
 	@Override
 	public float getPercent(int position) {
-		Float percent = (Float) getItem(position);
-		
-		return percent;
+		return mObjects.get(position);
 	}
 
-	@Override
-	public PieSliceDrawable getSlice(PieChartView parent, PieSliceDrawable convertDrawable, int position, float offset) {
-
-		PieSliceDrawable sliceView = convertDrawable;
-		
-		if (sliceView == null) {
-			sliceView = new PieSliceDrawable(parent, mContext);
-		}
-		
-		sliceView.setSliceColor(UiUtils.getRandomColor(mContext, position));
-		sliceView.setPercent(mObjects.get(position));
-		sliceView.setDegreeOffset(offset);
-		
-		return sliceView;
-	}
 }
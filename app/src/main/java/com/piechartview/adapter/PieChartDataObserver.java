@@ -0,0 +1,23 @@
+package com.piechartview.adapter;
+
+/**
+ * Receives fine grained change notifications from a {@link BasePieChartAdapter},
+ * so an attached chart only has to update the slices that actually changed.
+ */
+public abstract class PieChartDataObserver {
+
+	/**
+	 * The percent or appearance of count items starting at positionStart changed.
+	 */
+	public void onItemRangeChanged(int positionStart, int itemCount) {}
+
+	/**
+	 * itemCount items were inserted, the first of them is now at positionStart.
+	 */
+	public void onItemRangeInserted(int positionStart, int itemCount) {}
+
+	/**
+	 * itemCount items that were at positionStart and after have been removed.
+	 */
+	public void onItemRangeRemoved(int positionStart, int itemCount) {}
+}
@@ -0,0 +1,170 @@
+package com.piechartview.extra;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Color;
+
+/**
+ * Slice colors resolved once into an int[], so binding a slice is an array
+ * read instead of a resource lookup. Palettes are immutable and meant to be
+ * shared by every chart and adapter that uses them. Palettes built from color
+ * resources resolve them again, once, after the configuration changes. Any
+ * number of colors is supported, positions wrap around the palette.
+ */
+public final class ChartPalette {
+
+	private static final float GOLDEN_ANGLE = 137.50776f;
+
+	private static volatile ChartPalette sDefault;
+	private static volatile int sConfigurationGeneration;
+	private static boolean sCallbacksRegistered;
+
+	private final Resources mResources;
+	private final int[] mColorIds;
+	private volatile int[] mColors;
+	private volatile int mGeneration;
+
+	/**
+	 * Creates a palette of fixed colors
+	 */
+	public ChartPalette(int[] colors) {
+		this(null, null, colors.clone());
+	}
+
+	private ChartPalette(Resources resources, int[] colorIds, int[] colors) {
+
+		if (colors.length == 0) {
+			throw new IllegalArgumentException("A palette needs at least one color");
+		}
+
+		mResources = resources;
+		mColorIds = colorIds;
+		mColors = colors;
+		mGeneration = sConfigurationGeneration;
+	}
+
+	/**
+	 * Creates a palette from color resources, resolved now and again after
+	 * every configuration change
+	 */
+	public static ChartPalette fromResources(Context context, int[] colorIds) {
+
+		final Context application = context.getApplicationContext();
+		registerCallbacks(application);
+
+		final Resources resources = application.getResources();
+		return new ChartPalette(resources, colorIds.clone(), resolve(resources, colorIds));
+	}
+
+	/**
+	 * Generates count colors with evenly spread hues, neighbours are never
+	 * close in hue however large the palette
+	 *
+	 * @param saturation Between 0 and 1
+	 * @param value Brightness between 0 and 1
+	 */
+	public static ChartPalette generate(int count, float saturation, float value) {
+
+		if (count < 1) {
+			throw new IllegalArgumentException("count must be at least 1, was " + count);
+		}
+
+		final int[] colors = new int[count];
+		final float[] hsv = new float[] { 0, saturation, value };
+
+		for (int i = 0; i < count; i++) {
+			hsv[0] = (i * GOLDEN_ANGLE) % 360;
+			colors[i] = Color.HSVToColor(hsv);
+		}
+
+		return new ChartPalette(null, null, colors);
+	}
+
+	/**
+	 * Returns the shared palette of the sixteen random colors
+	 */
+	public static ChartPalette getDefault(Context context) {
+
+		ChartPalette palette = sDefault;
+
+		if (palette == null) {
+
+			synchronized (ChartPalette.class) {
+
+				if (sDefault == null) {
+					sDefault = fromResources(context, Constant.RANDOM_COLORS);
+				}
+
+				palette = sDefault;
+			}
+		}
+
+		return palette;
+	}
+
+	/**
+	 * Returns the color for an adapter position
+	 */
+	public int getColor(int position) {
+
+		int[] colors = mColors;
+
+		if (mColorIds != null && mGeneration != sConfigurationGeneration) {
+			colors = update();
+		}
+
+		return colors[position % colors.length];
+	}
+
+	public int size() {
+		return mColors.length;
+	}
+
+	private synchronized int[] update() {
+
+		final int generation = sConfigurationGeneration;
+
+		if (mGeneration != generation) {
+			mColors = resolve(mResources, mColorIds);
+			mGeneration = generation;
+		}
+
+		return mColors;
+	}
+
+	@SuppressWarnings("deprecation")
+	private static int[] resolve(Resources resources, int[] colorIds) {
+
+		final int[] colors = new int[colorIds.length];
+
+		for (int i = 0; i < colorIds.length; i++) {
+			colors[i] = resources.getColor(colorIds[i]);
+		}
+
+		return colors;
+	}
+
+	/**
+	 * Listens for configuration changes once for all palettes, they only
+	 * compare a counter to find out they are stale
+	 */
+	private static synchronized void registerCallbacks(Context application) {
+
+		if (sCallbacksRegistered) return;
+
+		sCallbacksRegistered = true;
+
+		application.registerComponentCallbacks(new ComponentCallbacks() {
+
+			@Override
+			public void onConfigurationChanged(Configuration newConfig) {
+				sConfigurationGeneration++;
+			}
+
+			@Override
+			public void onLowMemory() {}
+		});
+	}
+}
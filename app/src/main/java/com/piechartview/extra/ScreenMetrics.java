@@ -0,0 +1,119 @@
+package com.piechartview.extra;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.hardware.display.DisplayManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+
+/**
+ * The density factors of the display, read once and shared by the whole
+ * process instead of being looked up for every slice. Dropped when the
+ * configuration or the display changes and read again on next use. Instances
+ * are immutable, so they can be read from any thread, including the draw
+ * thread.
+ * <p>
+ * Window sizes are not cached here, in multi-window mode every activity has
+ * its own, see {@link UiUtils#getDisplayMetrics(Context)}.
+ */
+public final class ScreenMetrics {
+
+	private static volatile ScreenMetrics sCurrent;
+	private static boolean sListening;
+
+	public final int densityDpi;
+	public final float density;
+	public final float scaledDensity;
+
+	private ScreenMetrics(DisplayMetrics metrics) {
+
+		densityDpi = metrics.densityDpi;
+
+		// Same scale factors as TypedValue.applyDimension
+		density = metrics.density;
+		scaledDensity = metrics.scaledDensity;
+	}
+
+	/**
+	 * Returns the current metrics, reading them only if they changed since
+	 * the last call
+	 */
+	public static ScreenMetrics get(Context context) {
+
+		final ScreenMetrics metrics = sCurrent;
+		return metrics != null ? metrics : load(context);
+	}
+
+	private static synchronized ScreenMetrics load(Context context) {
+
+		if (sCurrent == null) {
+
+			final Context application = context.getApplicationContext();
+			startListening(application);
+
+			sCurrent = new ScreenMetrics(application.getResources().getDisplayMetrics());
+		}
+
+		return sCurrent;
+	}
+
+	/**
+	 * Drops the cached metrics, they are read again on next use
+	 */
+	public static synchronized void invalidate() {
+		sCurrent = null;
+	}
+
+	/**
+	 * Converts dp to pixels
+	 */
+	public float dpToPixels(float dp) {
+		return dp * density;
+	}
+
+	/**
+	 * Converts sp to pixels
+	 */
+	public float spToPixels(float sp) {
+		return sp * scaledDensity;
+	}
+
+	/**
+	 * Registers for configuration and display changes once for the process
+	 */
+	private static void startListening(Context application) {
+
+		if (sListening) return;
+
+		sListening = true;
+
+		application.registerComponentCallbacks(new ComponentCallbacks() {
+
+			@Override
+			public void onConfigurationChanged(Configuration newConfig) {
+				invalidate();
+			}
+
+			@Override
+			public void onLowMemory() {}
+		});
+
+		final DisplayManager displayManager = (DisplayManager) application.getSystemService(Context.DISPLAY_SERVICE);
+
+		displayManager.registerDisplayListener(new DisplayManager.DisplayListener() {
+
+			@Override
+			public void onDisplayAdded(int displayId) {}
+
+			@Override
+			public void onDisplayRemoved(int displayId) {}
+
+			@Override
+			public void onDisplayChanged(int displayId) {
+				invalidate();
+			}
+		}, new Handler(Looper.getMainLooper()));
+	}
+}
@@ -4,7 +4,6 @@ package com.piechartview.extra;
 import android.app.Activity;
 import android.content.Context;
 import android.util.DisplayMetrics;
-import android.util.TypedValue;
 import android.view.WindowManager;
 
 public class UiUtils {
@@ -22,8 +21,9 @@ public class UiUtils {
        }
 
     public static int getMinimumPanalWidth (final Activity activity) {
+        final DisplayMetrics metrics = getDisplayMetrics(activity);
         double ratio = getDensityRatio(activity);
-        return Math.max(Math.min(getScreenWidth(activity), getScreenHeight(activity)) / 5, (int)(170 * ratio));
+        return Math.max(Math.min(metrics.widthPixels, metrics.heightPixels) / 5, (int)(170 * ratio));
     }
     
     public static int getMinimumPanalHeight (final Activity activity) {
@@ -31,8 +31,7 @@ public class UiUtils {
     }
 
     public static float getDensityRatio (final Context context) {
-        final DisplayMetrics metrics = getDisplayMetrics(context);
-        return (metrics.densityDpi / Constant.STANDARD_DPI);
+        return (ScreenMetrics.get(context).densityDpi / Constant.STANDARD_DPI);
     }
     
     /**
@@ -56,8 +55,7 @@ public class UiUtils {
      */
     public static int convertPixelsToDp(float px,Context context) {
     	
-        DisplayMetrics metrics = getDisplayMetrics(context);
-        int dp = (int) (px / metrics.density + 0.5);
+        int dp = (int) (px / ScreenMetrics.get(context).density + 0.5);
         
         return dp;
 
@@ -81,13 +79,18 @@ public class UiUtils {
 	}
    
     public static float getDynamicPixels(Context context, float pixels) {
-    	return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, pixels, context.getResources().getDisplayMetrics());
+    	return ScreenMetrics.get(context).dpToPixels(pixels);
     }
     
     public static float getScaledPixels(Context context, float size) {
-        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, size, context.getResources().getDisplayMetrics());
+        return ScreenMetrics.get(context).spToPixels(size);
     }
     
+    /**
+     * Queries the window manager of the context, not cached since every
+     * activity has its own window size in multi-window mode. Use
+     * {@link ScreenMetrics} for density factors.
+     */
     public static DisplayMetrics getDisplayMetrics(Context context) {
 
         final DisplayMetrics metrics = new DisplayMetrics();
@@ -97,10 +100,11 @@ public class UiUtils {
         return metrics;
     }
 
+	/**
+	 * Returns a color of the shared default palette, resolved once per
+	 * configuration, see {@link ChartPalette#getDefault(Context)}
+	 */
 	public static int getRandomColor(Context context, int position) {
-		
-		position = position > 15 ? position % 16 : position;
-		
-		return context.getResources().getColor(Constant.RANDOM_COLORS[position]);
+		return ChartPalette.getDefault(context).getColor(position);
 	}
 }
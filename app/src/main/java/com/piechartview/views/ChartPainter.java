@@ -0,0 +1,67 @@
+package com.piechartview.views;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+/**
+ * Draws the unrotated chart of a {@link ChartSnapshot}: the background circle
+ * and either every slice or the batched slices. Shared by the draw thread and
+ * {@link PieChartRenderer}. An instance is not thread safe, each thread that
+ * draws keeps its own.
+ */
+class ChartPainter {
+
+	private final SliceFrame mFrame = new SliceFrame();
+	private final PieSliceBatch mBatch = new PieSliceBatch();
+	private final Paint mBackgroundPaint;
+
+	public ChartPainter() {
+		mBackgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+		mBackgroundPaint.setColor(Color.WHITE);
+	}
+
+	public void setBackgroundColor(int color) {
+		mBackgroundPaint.setColor(color);
+	}
+
+	/**
+	 * Brings the slice geometry up to date with the snapshot
+	 *
+	 * @param progress Data transition progress, ignored for charts at rest
+	 * @return true if the slice geometry changed
+	 */
+	public boolean update(ChartSnapshot snapshot, float progress) {
+
+		if (!mFrame.update(snapshot, progress)) return false;
+
+		mBatch.setOtherColor(snapshot.getOtherColor());
+		mBatch.invalidate();
+
+		return true;
+	}
+
+	/**
+	 * Draws the chart as of the last update
+	 *
+	 * @param batched True to draw with one path per slice color
+	 */
+	public void draw(Canvas canvas, ChartSnapshot snapshot, boolean batched) {
+
+		// Draw a background circle
+		canvas.drawCircle(snapshot.getCenterX(), snapshot.getCenterY(),
+				snapshot.getChartRadius() + snapshot.getStrokeWidth(), mBackgroundPaint);
+
+		if (batched) {
+
+			if (mBatch.isDirty()) {
+				mBatch.build(mFrame);
+			}
+
+			mBatch.draw(canvas);
+			return;
+		}
+
+		mFrame.draw(canvas);
+	}
+}
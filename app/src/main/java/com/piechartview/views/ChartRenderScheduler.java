@@ -0,0 +1,206 @@
+package com.piechartview.views;
+
+import java.util.ArrayDeque;
+
+/**
+ * Draws any number of PieChartViews from one thread, or a small pool, instead
+ * of a draw thread per chart. See {@link PieChartView#setRenderScheduler}.
+ * <p>
+ * A chart is queued when a vsync finds it dirty or animating, and only queued
+ * charts are drawn. The queue is served in order and a chart that gets a new
+ * vsync while still waiting keeps its place and draws the newest frame, so
+ * when the threads fall behind every animating chart drops frames evenly
+ * rather than one chart starving the others. Threads are started with the
+ * first chart and park while nothing is queued.
+ */
+public final class ChartRenderScheduler {
+
+	private static ChartRenderScheduler sDefault;
+
+	private final Object mLock = new Object();
+	private final ArrayDeque<Client> mQueue = new ArrayDeque<Client>();
+	private final Thread[] mThreads;
+	private int mClientCount;
+
+	/**
+	 * Returns the process wide scheduler, backed by a single thread
+	 */
+	public static synchronized ChartRenderScheduler getDefault() {
+
+		if (sDefault == null) {
+			sDefault = new ChartRenderScheduler(1);
+		}
+
+		return sDefault;
+	}
+
+	/**
+	 * @param threadCount Number of threads to draw with, at least 1
+	 */
+	public ChartRenderScheduler(int threadCount) {
+
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("threadCount must be at least 1, was " + threadCount);
+		}
+
+		mThreads = new Thread[threadCount];
+	}
+
+	public int getThreadCount() {
+		return mThreads.length;
+	}
+
+	/**
+	 * Returns the number of charts currently drawn by this scheduler
+	 */
+	public int getChartCount() {
+
+		synchronized (mLock) {
+			return mClientCount;
+		}
+	}
+
+	/**
+	 * Starts serving the client, starting the threads on first use
+	 */
+	void attach(Client client) {
+
+		synchronized (mLock) {
+
+			if (client.mAttached) return;
+
+			client.mAttached = true;
+			mClientCount++;
+
+			startThreadsLocked();
+		}
+	}
+
+	/**
+	 * Stops serving the client, waiting for a frame in progress to finish so
+	 * the caller can release its surface. Must not be called from a scheduler
+	 * thread.
+	 */
+	void detach(Client client) {
+
+		synchronized (mLock) {
+
+			if (!client.mAttached) return;
+
+			client.mAttached = false;
+			client.mRequeue = false;
+			mClientCount--;
+
+			if (client.mQueued) {
+				client.mQueued = false;
+				mQueue.remove(client);
+			}
+
+			while (client.mRendering) {
+				try {
+					mLock.wait();
+				} catch (InterruptedException e) {}
+			}
+		}
+	}
+
+	/**
+	 * Queues the client for drawing, does nothing if it already is
+	 */
+	void schedule(Client client) {
+
+		synchronized (mLock) {
+
+			if (!client.mAttached || client.mQueued) return;
+
+			// Drawn again once the current frame is done
+			if (client.mRendering) {
+				client.mRequeue = true;
+				return;
+			}
+
+			client.mQueued = true;
+			mQueue.add(client);
+			mLock.notifyAll();
+		}
+	}
+
+	private void startThreadsLocked() {
+
+		for (int i = 0; i < mThreads.length; i++) {
+
+			if (mThreads[i] != null) continue;
+
+			mThreads[i] = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					runWorker();
+				}
+			}, "PieChartRender-" + i);
+
+			mThreads[i].setDaemon(true);
+			mThreads[i].start();
+		}
+	}
+
+	private void runWorker() {
+
+		Client client;
+
+		while (true) {
+
+			synchronized (mLock) {
+
+				while (mQueue.isEmpty()) {
+					try {
+						mLock.wait();
+					} catch (InterruptedException e) {}
+				}
+
+				client = mQueue.poll();
+				client.mQueued = false;
+				client.mRendering = true;
+			}
+
+			try {
+				client.mRenderer.run();
+			} finally {
+
+				synchronized (mLock) {
+
+					client.mRendering = false;
+
+					if (client.mRequeue) {
+						client.mRequeue = false;
+						client.mQueued = true;
+						mQueue.add(client);
+					}
+
+					// Wakes idle threads and anyone waiting in detach
+					mLock.notifyAll();
+				}
+			}
+		}
+	}
+
+	/**
+	 * One chart as seen by the scheduler. The flags are guarded by the
+	 * scheduler lock.
+	 */
+	static final class Client {
+
+		private final Runnable mRenderer;
+		private boolean mAttached;
+		private boolean mQueued;
+		private boolean mRendering;
+		private boolean mRequeue;
+
+		/**
+		 * @param renderer Draws the chart's pending frame, if it still has one
+		 */
+		Client(Runnable renderer) {
+			mRenderer = renderer;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.piechartview.views;
+
+import android.graphics.Color;
+
+/**
+ * Immutable copy of the slice geometry and view state the draw thread needs
+ * for a frame. The UI thread builds a new snapshot whenever slices or the view
+ * size change and publishes it through a volatile field, so the draw thread
+ * never has to lock the slice list and never sees a half updated chart.
+ */
+final class ChartSnapshot {
+
+	static final ChartSnapshot EMPTY = new ChartSnapshot(new int[0], new float[0], new float[0],
+			0, Color.LTGRAY, 0, 0, 0, 0, 0, 0, 0, 0);
+
+	private final int[] mColors;
+	private final float[] mFromPercents;
+	private final float[] mToPercents;
+	private final float mSliceStrokeWidth;
+	private final int mOtherColor;
+	private final float mCenterX;
+	private final float mCenterY;
+	private final int mChartDiameter;
+	private final float mStrokeWidth;
+	private final int mPaddingLeft;
+	private final int mPaddingTop;
+	private final int mWidth;
+	private final int mHeight;
+
+	/**
+	 * The arrays are owned by the snapshot from here on and must not be
+	 * changed by the caller. Pass the same array twice for a chart at rest.
+	 *
+	 * @param fromPercents Slice percents at the start of a data transition
+	 * @param toPercents Slice percents at the end of a data transition
+	 */
+	ChartSnapshot(int[] colors, float[] fromPercents, float[] toPercents,
+			float sliceStrokeWidth, int otherColor, float centerX, float centerY,
+			int chartDiameter, float strokeWidth, int paddingLeft, int paddingTop,
+			int width, int height) {
+
+		mColors = colors;
+		mFromPercents = fromPercents;
+		mToPercents = toPercents;
+		mSliceStrokeWidth = sliceStrokeWidth;
+		mOtherColor = otherColor;
+		mCenterX = centerX;
+		mCenterY = centerY;
+		mChartDiameter = chartDiameter;
+		mStrokeWidth = strokeWidth;
+		mPaddingLeft = paddingLeft;
+		mPaddingTop = paddingTop;
+		mWidth = width;
+		mHeight = height;
+	}
+
+	public int size() {
+		return mColors.length;
+	}
+
+	public int getColor(int index) {
+		return mColors[index];
+	}
+
+	/**
+	 * Returns true if the slices move between two states with the
+	 * progress of the data transition animator
+	 */
+	public boolean isTransition() {
+		return mFromPercents != mToPercents;
+	}
+
+	/**
+	 * Fills the start angle and sweep of every slice for the given
+	 * transition progress, laying the slices out one after another.
+	 */
+	public void getAngles(float progress, float[] startAngles, float[] sweeps) {
+
+		float offset = 0;
+
+		for (int i = 0; i < mColors.length; i++) {
+
+			final float from = mFromPercents[i];
+			final float sweep = (from + (mToPercents[i] - from) * progress) * 360;
+
+			startAngles[i] = offset;
+			sweeps[i] = sweep;
+
+			offset += sweep;
+		}
+	}
+
+	public float getSliceStrokeWidth() {
+		return mSliceStrokeWidth;
+	}
+
+	public int getOtherColor() {
+		return mOtherColor;
+	}
+
+	public float getCenterX() {
+		return mCenterX;
+	}
+
+	public float getCenterY() {
+		return mCenterY;
+	}
+
+	public int getChartDiameter() {
+		return mChartDiameter;
+	}
+
+	public float getChartRadius() {
+		return mChartDiameter / 2f;
+	}
+
+	/**
+	 * Returns the stroke around the background circle of the chart
+	 */
+	public float getStrokeWidth() {
+		return mStrokeWidth;
+	}
+
+	public int getPaddingLeft() {
+		return mPaddingLeft;
+	}
+
+	public int getPaddingTop() {
+		return mPaddingTop;
+	}
+
+	public int getWidth() {
+		return mWidth;
+	}
+
+	public int getHeight() {
+		return mHeight;
+	}
+}
@@ -0,0 +1,44 @@
+package com.piechartview.views;
+
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Names and helpers for the systrace / Perfetto sections and counters of the
+ * chart pipeline. Sections cost a native flag check when tracing is off, and
+ * counters are skipped entirely unless a trace is being recorded.
+ */
+final class ChartTrace {
+
+	static final String ADD_PIE_SLICES = "PieChart.addPieSlices";
+	static final String RESET_CHART = "PieChart.resetChart";
+	static final String GET_SLICE = "PieChart.getSlice";
+	static final String VALIDATE_ADAPTER = "PieChart.validateAdapter";
+	static final String BUILD_DRAWING_CACHE = "PieChart.buildDrawingCache";
+	static final String DO_DRAW = "PieChart.doDraw";
+	static final String RENDER = "PieChartRenderer.render";
+
+	static final String SLICE_COUNT = "PieChart slices";
+	static final String RECYCLED_COUNT = "PieChart recycled slices";
+	static final String ROTATION_STATE = "PieChart rotation state";
+
+	private ChartTrace() {}
+
+	static void begin(String section) {
+		Trace.beginSection(section);
+	}
+
+	static void end() {
+		Trace.endSection();
+	}
+
+	/**
+	 * Sets a counter track, only available from Android Q
+	 */
+	static void counter(String name, long value) {
+
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && Trace.isEnabled()) {
+			Trace.setCounter(name, value);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.piechartview.views;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * A pie chart drawn by a regular, hardware accelerated View instead of its own
+ * window surface, for charts inside scrolling containers and lists. It costs
+ * no surface buffer and is composited with the rest of the window.
+ * <p>
+ * Slices, touch handling and animations are those of a {@link PieChartView}
+ * that is never attached, configure the chart through {@link #getChart()}.
+ * The pie is recorded into the display list unrotated and rotation and scale
+ * are applied as render properties of this view, so spinning the chart does
+ * not redraw it. With {@link PieChartView#setRotationLayerEnabled(boolean)}
+ * the pie is kept in a hardware layer instead of a bitmap. Leave the
+ * background of this view transparent, it turns with the chart.
+ */
+public class PieChartLayerView extends View {
+
+	private final PieChartView mChart;
+
+	public PieChartLayerView(Context context) {
+		super(context);
+
+		mChart = new PieChartView(context, this);
+	}
+
+	public PieChartLayerView(Context context, AttributeSet attrs) {
+		super(context, attrs);
+
+		mChart = new PieChartView(context, this);
+	}
+
+	public PieChartLayerView(Context context, AttributeSet attrs, int defStyle) {
+		super(context, attrs, defStyle);
+
+		mChart = new PieChartView(context, this);
+	}
+
+	/**
+	 * Returns the chart shown by this view, to set its adapter, listeners
+	 * and options
+	 */
+	public PieChartView getChart() {
+		return mChart;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		super.setEnabled(enabled);
+
+		mChart.setEnabled(enabled);
+	}
+
+	@Override
+	public void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+
+		mChart.setPadding(getPaddingLeft(), getPaddingTop(), getPaddingRight(), getPaddingBottom());
+		mChart.measure(widthMeasureSpec, heightMeasureSpec);
+
+		setMeasuredDimension(mChart.getMeasuredWidth(), mChart.getMeasuredHeight());
+	}
+
+	@Override
+	protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+		mChart.layout(0, 0, right - left, bottom - top);
+	}
+
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+
+		mChart.attachHost();
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		mChart.detachHost();
+
+		super.onDetachedFromWindow();
+	}
+
+	@Override
+	protected void onDraw(Canvas canvas) {
+		mChart.drawHosted(canvas);
+	}
+
+	@Override
+	public boolean onTouchEvent(MotionEvent event) {
+
+		final Matrix matrix = getMatrix();
+
+		if (matrix.isIdentity()) {
+			return mChart.onTouchEvent(event);
+		}
+
+		// Events arrive rotated with the view, the chart expects them unrotated
+		final MotionEvent chartEvent = MotionEvent.obtain(event);
+		chartEvent.transform(matrix);
+
+		try {
+			return mChart.onTouchEvent(chartEvent);
+		} finally {
+			chartEvent.recycle();
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package com.piechartview.views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+import com.piechartview.adapter.BasePieChartAdapter;
+import com.piechartview.core.SliceLayout;
+import com.piechartview.extra.UiUtils;
+
+/**
+ * Draws a pie chart straight from an adapter into a Bitmap or Canvas, without
+ * a PieChartView, surface or draw thread. Meant for thumbnails and exports.
+ * Adapters are asked for their slices with a null parent. An instance reuses
+ * its slice, canvas and geometry between calls and is not thread safe, so
+ * keep one renderer per thread.
+ */
+public final class PieChartRenderer {
+
+	private static final int SUB_STROKE_WIDTH = 1;
+
+	private final ChartPainter mPainter = new ChartPainter();
+	private final SliceLayout.Builder mLayoutBuilder = new SliceLayout.Builder();
+	private final Canvas mBitmapCanvas = new Canvas();
+	private final float mDefaultStrokeWidth;
+	private PieSliceDrawable mSlice;
+
+	/**
+	 * How a rendered chart looks. Defaults match a PieChartView.
+	 */
+	public static class Style {
+
+		private int mBackgroundColor = Color.WHITE;
+		private float mStrokeWidth = -1;
+		private int mOtherSliceColor = Color.LTGRAY;
+		private float mAggregateMinDegrees = 0;
+		private int mAggregateMaxSlices = 0;
+		private boolean mBatched = false;
+
+		/**
+		 * Sets the color of the circle behind the slices
+		 */
+		public Style setBackgroundColor(int color) {
+			mBackgroundColor = color;
+			return this;
+		}
+
+		/**
+		 * Sets the width of the background ring in pixels, 1dp by default
+		 */
+		public Style setStrokeWidth(float strokeWidth) {
+			mStrokeWidth = strokeWidth;
+			return this;
+		}
+
+		public Style setOtherSliceColor(int color) {
+			mOtherSliceColor = color;
+			return this;
+		}
+
+		/**
+		 * Folds small items into one other slice, see
+		 * {@link PieChartView#setSliceAggregation(float, int)}
+		 */
+		public Style setSliceAggregation(float minDegrees, int maxSlices) {
+			mAggregateMinDegrees = minDegrees;
+			mAggregateMaxSlices = maxSlices;
+			return this;
+		}
+
+		/**
+		 * Draws with one path per slice color, see
+		 * {@link PieChartView#setBatchedRenderingEnabled(boolean)}
+		 */
+		public Style setBatched(boolean batched) {
+			mBatched = batched;
+			return this;
+		}
+	}
+
+	public PieChartRenderer(Context context) {
+
+		mDefaultStrokeWidth = UiUtils.getDynamicPixels(context, SUB_STROKE_WIDTH);
+		mSlice = new PieSliceDrawable(null, context);
+	}
+
+	/**
+	 * Renders the chart over the whole bitmap, clearing it first
+	 *
+	 * @param bitmap A mutable bitmap, reused as is
+	 * @param rotation Chart rotation in degrees
+	 * @param style The style, or null for the defaults
+	 */
+	public void render(BasePieChartAdapter adapter, Bitmap bitmap, float rotation, Style style) {
+
+		bitmap.eraseColor(Color.TRANSPARENT);
+
+		mBitmapCanvas.setBitmap(bitmap);
+		render(adapter, mBitmapCanvas, bitmap.getWidth(), bitmap.getHeight(), rotation, style);
+		mBitmapCanvas.setBitmap(null);
+	}
+
+	/**
+	 * Renders a size by size chart into a bitmap, reusing reuse when it is
+	 * mutable and already has that size.
+	 *
+	 * @return reuse, or a new bitmap if it could not be used
+	 */
+	public Bitmap render(BasePieChartAdapter adapter, int size, float rotation, Style style, Bitmap reuse) {
+
+		Bitmap bitmap = reuse;
+
+		if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()
+				|| bitmap.getWidth() != size || bitmap.getHeight() != size) {
+			bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+		}
+
+		render(adapter, bitmap, rotation, style);
+
+		return bitmap;
+	}
+
+	/**
+	 * Draws the chart centered in the width by height area at the canvas
+	 * origin. The canvas is left as it was.
+	 *
+	 * @param rotation Chart rotation in degrees
+	 * @param style The style, or null for the defaults
+	 */
+	public void render(BasePieChartAdapter adapter, Canvas canvas, int width, int height, float rotation, Style style) {
+
+		if (style == null) style = new Style();
+
+		ChartTrace.begin(ChartTrace.RENDER);
+
+		try {
+
+			final ChartSnapshot snapshot = createSnapshot(adapter, width, height, style);
+
+			if (snapshot.getChartDiameter() <= 0) return;
+
+			mPainter.setBackgroundColor(style.mBackgroundColor);
+			mPainter.update(snapshot, 1);
+
+			final int saveCount = canvas.save();
+			canvas.rotate(rotation, snapshot.getCenterX(), snapshot.getCenterY());
+			mPainter.draw(canvas, snapshot, style.mBatched);
+			canvas.restoreToCount(saveCount);
+
+		} finally {
+			ChartTrace.end();
+		}
+	}
+
+	/**
+	 * Lays the adapter out the way PieChartView does and copies the result
+	 */
+	ChartSnapshot createSnapshot(BasePieChartAdapter adapter, int width, int height, Style style) {
+
+		final SliceLayout layout = SliceLayout.compute(adapter,
+				style.mAggregateMinDegrees, style.mAggregateMaxSlices, mLayoutBuilder);
+
+		final int count = layout.size();
+		final int[] colors = new int[count];
+		final float[] percents = new float[count];
+		float sliceStroke = 0;
+
+		for (int index = 0; index < count; index++) {
+
+			final int position = layout.getPosition(index);
+			percents[index] = layout.getSweep(index) / 360;
+
+			if (position == PieChartView.OTHER_POSITION) {
+				colors[index] = style.mOtherSliceColor;
+				continue;
+			}
+
+			// The single slice is handed back as the convert drawable every time
+			mSlice = adapter.getSlice(null, mSlice, position, layout.getStartAngle(index));
+
+			colors[index] = mSlice.getSliceColor();
+			sliceStroke = mSlice.getStrokeWidth();
+		}
+
+		final float strokeWidth = style.mStrokeWidth >= 0 ? style.mStrokeWidth : mDefaultStrokeWidth;
+		final int diameter = Math.min(width, height) - (int) strokeWidth;
+
+		return new ChartSnapshot(colors, percents, percents, sliceStroke, style.mOtherSliceColor,
+				width / 2f, height / 2f, diameter, strokeWidth, 0, 0, width, height);
+	}
+}
@@ -1,10 +1,8 @@
 package com.piechartview.views;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.database.DataSetObserver;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
@@ -16,9 +14,11 @@ import android.graphics.PorterDuff;
 import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
 import android.os.Handler;
+import android.os.Looper;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.view.Choreographer;
 import android.view.MotionEvent;
 import android.view.SoundEffectConstants;
 import android.view.SurfaceHolder;
@@ -30,7 +30,11 @@ import android.view.animation.AnimationUtils;
 import android.view.animation.OvershootInterpolator;
 
 import com.piechartview.adapter.BasePieChartAdapter;
+import com.piechartview.adapter.PieChartDataObserver;
+import com.piechartview.core.RotationMath;
+import com.piechartview.core.SliceLayout;
 import com.piechartview.extra.Dynamics;
+import com.piechartview.extra.ScreenMetrics;
 import com.piechartview.extra.UiUtils;
 
 public class PieChartView extends SurfaceView implements SurfaceHolder.Callback {
@@ -54,6 +58,7 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
     private static final int SUB_STROKE_WIDTH = 1;
     private static final int INFO_STROKE_WIDTH = 3;
     private static final int PIXELS_PER_SECOND = 1000;
+    private static final long NANOS_PER_MILLI = 1000000;
     private static final float VELOCITY_TOLERANCE = 40f;
     private static final int INVALID_INDEX = -1;
     public static final int TOUCH_STATE_RESTING = 0;
@@ -63,12 +68,19 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
     public static final int CHART_SHOWING = 1;
     public static final int CHART_INVALID = 2;
     private static final float DEFAULT_SNAP_DEGREE = 0f;
+    public static final int RENDERMODE_WHEN_DIRTY = 0;
+    public static final int RENDERMODE_CONTINUOUSLY = 1;
+    public static final int CACHE_MODE_NONE = 0;
+    public static final int CACHE_MODE_REUSED = 1;
+    public static final int OTHER_POSITION = SliceLayout.OTHER_POSITION;
+    public static final long OTHER_ITEM_ID = Long.MIN_VALUE;
 	private DrawThread mDrawThread;
     private int mTouchState = TOUCH_STATE_RESTING;
     private int mScrollThreshold;
     private VelocityTracker mVelocityTracker;
     private Dynamics mDynamics;
-    private Runnable mDynamicsRunnable;
+    private boolean mFlinging = false;
+    private int mFlingIndex = INVALID_INDEX;
     private BasePieChartAdapter mAdapter;
     private int mTouchStartX;
     private int mTouchStartY;
@@ -81,39 +93,283 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
     private float mPixelDensity;
     private PointF mCenter = new PointF();
 	private float mStrokeWidth;
-	private float mRotationDegree = 0;
-	private float mChartScale = 1.0f;
+	private volatile float mRotationDegree = 0;
+	private volatile float mChartScale = 1.0f;
 	private boolean mChartHidden = false;
 	private boolean mNeedsToggle = false;
 	private boolean mNeedsUpdate = false;
 	private boolean mShowInfo = false;
 	private boolean mLoaded = false;
-	private List<PieSliceDrawable> mDrawables;
-	private LinkedList<PieSliceDrawable> mRecycledDrawables;
+	private SliceStore mSlices;
+	private PieSliceDrawable mSliceView;
+	private int mSliceViewIndex = INVALID_INDEX;
+	private boolean mBindingSliceView = false;
+	private SlicePool mSlicePool;
+	private ComponentCallbacks2 mTrimMemoryCallbacks;
+	private boolean mTrimMemoryRegistered = false;
+	private SliceLayout mLayout = SliceLayout.EMPTY;
+	private SliceLayout.Builder mLayoutBuilder;
+	private boolean mLayoutDirty = false;
 	private int mCurrentIndex;
-	private Bitmap mDrawingCache;
+	private volatile ChartSnapshot mSnapshot = ChartSnapshot.EMPTY;
+	private boolean mSnapshotPending = false;
+	private Runnable mPublishSnapshotRunnable;
+	private boolean mSlicesPending = false;
+	private Runnable mAddSlicesRunnable;
+	private ChartPainter mPainter = new ChartPainter();
+	private volatile Bitmap mDrawingCache;
+	private Canvas mDrawingCacheCanvas;
+	private volatile boolean mDrawingCacheDirty = true;
+	private volatile int mDrawingCacheMode = CACHE_MODE_NONE;
+	private volatile Bitmap mRotationLayer;
+	private Canvas mRotationLayerCanvas;
+	private Paint mRotationLayerPaint;
+	private volatile boolean mRotationLayerEnabled = false;
+	private boolean mRotationLayerDirty = true;
+	private volatile boolean mBatchedRenderingEnabled = false;
+	private float mAggregateMinDegrees = 0;
+	private int mAggregateMaxSlices = 0;
+	private boolean mOtherSliceExpanded = false;
+	private int mOtherSliceColor = Color.LTGRAY;
 	private OnPieChartChangeListener mOnPieChartChangeListener;
 	private OnPieChartReadyListener mOnPieChartReadyListener;
 
     private OnItemClickListener mOnItemClickListener;
     private OnRotationStateChangeListener mOnRotationStateChangeListener;
 	private AdapterDataSetObserver mDataSetObserver;
+	private AdapterItemObserver mItemObserver;
+	private SliceTransition mTransition;
+	private ThreadAnimator mTransitionAnimator;
+	private volatile float mTransitionProgress = 0;
+	private Runnable mEndTransitionRunnable;
+	private Rect mSliceBounds = new Rect();
+	private boolean mDataTransitionsEnabled = false;
 	private Handler mHandler;
+	private Choreographer.FrameCallback mFrameCallback;
+	private Runnable mScheduleFrameRunnable;
+	private boolean mFrameScheduled = false;
 	private Paint mPaint;
 	private Paint mStrokePaint;
+	private volatile int mRenderMode = RENDERMODE_WHEN_DIRTY;
+	private volatile long mRenderedFrameCount = 0;
+	private volatile RenderMetrics mRenderMetrics;
+	private volatile OnFrameMetricsListener mOnFrameMetricsListener;
+	private ChartRenderScheduler mRenderScheduler;
+	private View mHost;
 	
 	private void setTouchState(int touchState) {
 		
 		mTouchState = touchState;
+		traceRotationState();
 		
 		if (mOnRotationStateChangeListener != null) {
         	mOnRotationStateChangeListener.onRotationStateChange(mTouchState);
         }
 	}
 	
+	/**
+	 * Publishes the touch state to the trace, counting a running fling as rotating
+	 */
+	private void traceRotationState() {
+		ChartTrace.counter(ChartTrace.ROTATION_STATE, mFlinging ? TOUCH_STATE_ROTATE : mTouchState);
+	}
+	
+	/**
+	 * Returns the last rendered frame when the cache mode is
+	 * {@link #CACHE_MODE_REUSED}, null otherwise.
+	 */
 	public Bitmap getDrawingCache() {
 		return mDrawingCache;
 	}
+	
+	/**
+	 * Sets whether the chart keeps an offscreen copy of its last frame. With
+	 * {@link #CACHE_MODE_NONE} no bitmap is held, with {@link #CACHE_MODE_REUSED}
+	 * one view sized bitmap is allocated and redrawn in place when the chart
+	 * settles, and only reallocated when the view size changes.
+	 * 
+	 * @param cacheMode One of CACHE_MODE_NONE or CACHE_MODE_REUSED
+	 */
+	public void setDrawingCacheMode(int cacheMode) {
+		
+		mDrawingCacheMode = cacheMode;
+		
+		// The draw thread frees the bitmap once it sees the new mode
+		invalidateDrawingCache();
+	}
+	
+	public int getDrawingCacheMode() {
+		return mDrawingCacheMode;
+	}
+	
+	/**
+	 * Returns the number of bytes held by offscreen bitmaps of this chart,
+	 * the drawing cache and the rotation layer.
+	 */
+	public int getDrawingCacheByteCount() {
+		
+		final Bitmap cache = mDrawingCache;
+		final Bitmap layer = mRotationLayer;
+		
+		return (cache == null ? 0 : cache.getByteCount())
+				+ (layer == null ? 0 : layer.getByteCount());
+	}
+	
+	/**
+	 * When enabled the unrotated pie is drawn once into a chart sized bitmap
+	 * and every frame is a single rotated and scaled blit of it, so frame cost
+	 * no longer depends on the number of slices. The layer is redrawn only when
+	 * a slice changes its data, bounds or color.
+	 */
+	public void setRotationLayerEnabled(boolean enabled) {
+		
+		mRotationLayerEnabled = enabled;
+		invalidateSliceGeometry();
+	}
+	
+	public boolean isRotationLayerEnabled() {
+		return mRotationLayerEnabled;
+	}
+	
+	/**
+	 * Sets whether slices are drawn in one batched pass: a single path per
+	 * slice color, one drawLines call for every separator, and runs of slices
+	 * narrower than a pixel merged into a wedge of the other slice color.
+	 */
+	public void setBatchedRenderingEnabled(boolean enabled) {
+		mBatchedRenderingEnabled = enabled;
+		invalidateSliceGeometry();
+	}
+	
+	public boolean isBatchedRenderingEnabled() {
+		return mBatchedRenderingEnabled;
+	}
+	
+	/**
+	 * Sets the color used for slices merged because they are too small to see
+	 */
+	public void setOtherSliceColor(int color) {
+		
+		mOtherSliceColor = color;
+		
+		if (isAggregating()) {
+			resetChart();
+		} else {
+			invalidateSliceGeometry();
+		}
+	}
+	
+	/**
+	 * Folds the tail of the data into a single "other" slice before any
+	 * slices are bound, so the chart only pays for the visible slices.
+	 * Items smaller than minDegrees are folded, and when maxSlices is positive
+	 * only the maxSlices largest items keep their own slice (items tied with the
+	 * smallest kept one are kept too). Tapping the other slice expands it.
+	 * 
+	 * @param minDegrees Minimum slice angle, 0 to disable
+	 * @param maxSlices Maximum number of item slices, 0 to disable
+	 */
+	public void setSliceAggregation(float minDegrees, int maxSlices) {
+		
+		mAggregateMinDegrees = minDegrees;
+		mAggregateMaxSlices = maxSlices;
+		mOtherSliceExpanded = false;
+		
+		resetChart();
+	}
+	
+	/**
+	 * Shows every item as its own slice when true, or folds the tail into the
+	 * other slice again when false.
+	 */
+	public void setOtherSliceExpanded(boolean expanded) {
+		
+		if (mOtherSliceExpanded == expanded) return;
+		
+		mOtherSliceExpanded = expanded;
+		resetChart();
+	}
+	
+	public boolean isOtherSliceExpanded() {
+		return mOtherSliceExpanded;
+	}
+	
+	/**
+	 * Returns true if slices are currently folded by the aggregation policy,
+	 * in which case slice indexes no longer match adapter positions.
+	 */
+	private boolean isAggregating() {
+		return !mOtherSliceExpanded && (mAggregateMinDegrees > 0 || mAggregateMaxSlices > 0);
+	}
+	
+	/**
+	 * Schedules a new snapshot for the draw thread. Slices report every change
+	 * through invalidateSelf, so the changes of one UI loop are coalesced into
+	 * a single copy.
+	 */
+	private void invalidateSliceGeometry() {
+		
+		if (mSnapshotPending) return;
+		
+		mSnapshotPending = true;
+		mHandler.post(mPublishSnapshotRunnable);
+	}
+	
+	/**
+	 * Copies the slices and view state into a new immutable snapshot and hands
+	 * it to the draw thread. The draw thread never reads the slices themselves,
+	 * so neither thread waits on the other. Only called on the UI thread.
+	 */
+	private void publishSnapshot() {
+		
+		mSnapshotPending = false;
+		
+		final boolean transition = mTransition.isActive();
+		final int count = mSlices.size();
+		final int[] colors = new int[count];
+		final float[] toPercents = new float[count];
+		final float[] fromPercents = transition ? new float[count] : toPercents;
+		
+		for (int i = 0; i < count; i++) {
+			
+			colors[i] = mSlices.getColor(i);
+			
+			if (transition) {
+				fromPercents[i] = mTransition.getFromPercent(i);
+				toPercents[i] = mTransition.getToPercent(i);
+			} else {
+				toPercents[i] = mSlices.getPercent(i);
+			}
+		}
+		
+		final float sliceStroke = mSlices.getStrokeWidth();
+		
+		mSnapshot = new ChartSnapshot(colors, fromPercents, toPercents, sliceStroke,
+				mOtherSliceColor, mCenter.x, mCenter.y, mChartDiameter, mStrokeWidth,
+				getPaddingLeft(), getPaddingTop(), getWidth(), getHeight());
+		
+		ChartTrace.counter(ChartTrace.SLICE_COUNT, count);
+		ChartTrace.counter(ChartTrace.RECYCLED_COUNT, mSlicePool.size());
+		
+		requestRender();
+	}
+	
+	@Override
+	public void invalidateDrawable(Drawable drawable) {
+		
+		// Changes made through getSlice are copied back, bound slices are copies
+		if (drawable == mSliceView) {
+			onSliceViewChanged();
+		} else if (!(drawable instanceof PieSliceDrawable)) {
+			super.invalidateDrawable(drawable);
+		}
+	}
+	
+	private void invalidateDrawingCache() {
+		mDrawingCacheDirty = true;
+		requestRender();
+	}
+	
 
     public void setDynamics(final Dynamics dynamics) {
     	
@@ -132,12 +388,19 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		
 		// Keep rotation degree between 0 - 360
 		mRotationDegree = rotationDegree % 360;
+		
+		requestRender();
 	}
 	
 	public float getRotationDegree() {
 		return mRotationDegree;
 	}
 
+	/**
+	 * Returns the index of the selected slice. Slice indices equal adapter
+	 * positions unless small slices are aggregated, see
+	 * {@link #getPositionForIndex(int)}.
+	 */
 	public int getCurrentIndex() {
 		
 		if (!isLoaded()) return 0;
@@ -188,14 +451,296 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		this.mLoaded = mLoaded;
 	}
 
+	/**
+	 * Rotates the slice at index to the snap anchor. Takes a slice index, not
+	 * an adapter position, the two differ once small slices are aggregated.
+	 */
 	public void setSelection(int index) {
 		animateTo(index);
 	}
+	
+	/**
+	 * Returns the adapter position shown by the slice at index, or
+	 * {@link #OTHER_POSITION} for the aggregated other slice. Only use it on
+	 * the UI thread.
+	 */
+	public int getPositionForIndex(int index) {
+		return mSlices.getPosition(index);
+	}
 
 	public DrawThread getDrawThread() {
 		return mDrawThread;
 	}
 	
+	/**
+	 * Sets how the draw thread produces frames. With {@link #RENDERMODE_WHEN_DIRTY}
+	 * the thread parks until the chart changes or {@link #requestRender()} is called,
+	 * with {@link #RENDERMODE_CONTINUOUSLY} it redraws on every vsync.
+	 * 
+	 * @param renderMode One of RENDERMODE_WHEN_DIRTY or RENDERMODE_CONTINUOUSLY
+	 */
+	public void setRenderMode(int renderMode) {
+		mRenderMode = renderMode;
+		requestRender();
+	}
+	
+	public int getRenderMode() {
+		return mRenderMode;
+	}
+	
+	/**
+	 * Draws this chart from a shared scheduler instead of its own draw thread,
+	 * so many charts on one screen share a thread or two. Pass null to go back
+	 * to a thread per chart. Takes effect the next time the surface is
+	 * created, so set it before the view is attached.
+	 * 
+	 * @param scheduler Usually {@link ChartRenderScheduler#getDefault()}
+	 */
+	public void setRenderScheduler(ChartRenderScheduler scheduler) {
+		mRenderScheduler = scheduler;
+	}
+	
+	public ChartRenderScheduler getRenderScheduler() {
+		return mRenderScheduler;
+	}
+	
+	/**
+	 * Returns the view the chart is shown in, the hosting
+	 * {@link PieChartLayerView} or this view itself
+	 */
+	public View getChartView() {
+		return mHost != null ? mHost : this;
+	}
+	
+	/**
+	 * Starts animating a hosted chart once its host is attached
+	 */
+	void attachHost() {
+		
+		setTrimMemoryRegistered(true);
+		
+		mDrawThread.setRunning(true);
+		mDrawThread.onResume();
+		mDrawThread.postReady();
+	}
+	
+	void detachHost() {
+		
+		mDrawThread.setRunning(false);
+		setTrimMemoryRegistered(false);
+	}
+	
+	/**
+	 * Returns the pool of idle slice drawables, to size it or read its
+	 * hit and miss counts
+	 */
+	public SlicePool getSlicePool() {
+		return mSlicePool;
+	}
+	
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+		
+		setTrimMemoryRegistered(true);
+	}
+	
+	@Override
+	protected void onDetachedFromWindow() {
+		
+		setTrimMemoryRegistered(false);
+		
+		super.onDetachedFromWindow();
+	}
+	
+	/**
+	 * Listens for memory pressure while the chart is on screen, so the
+	 * application does not hold on to detached charts
+	 */
+	private void setTrimMemoryRegistered(boolean registered) {
+		
+		if (mTrimMemoryRegistered == registered) return;
+		
+		mTrimMemoryRegistered = registered;
+		
+		final Context application = getContext().getApplicationContext();
+		
+		if (registered) {
+			application.registerComponentCallbacks(mTrimMemoryCallbacks);
+		} else {
+			application.unregisterComponentCallbacks(mTrimMemoryCallbacks);
+		}
+	}
+	
+	/**
+	 * Draws a hosted chart unrotated, the host applies rotation and scale
+	 */
+	void drawHosted(Canvas canvas) {
+		mDrawThread.drawHosted(canvas);
+	}
+	
+	/**
+	 * Asks the draw thread to render at least one more frame, on the next
+	 * vsync. Safe to call from any thread.
+	 */
+	public void requestRender() {
+		
+		if (mDrawThread != null) {
+			mDrawThread.requestRender();
+		}
+	}
+	
+	/**
+	 * Makes sure a Choreographer frame callback is pending. Frames are only
+	 * produced from these callbacks, so fling dynamics, animators and drawing
+	 * all advance together once per vsync, at the frame timestamp.
+	 */
+	private void scheduleFrame() {
+		
+		// Choreographer is per looper, hop over from the draw thread
+		if (Looper.myLooper() != mHandler.getLooper()) {
+			mHandler.post(mScheduleFrameRunnable);
+			return;
+		}
+		
+		if (mFrameScheduled) return;
+		
+		mFrameScheduled = true;
+		Choreographer.getInstance().postFrameCallback(mFrameCallback);
+	}
+	
+	/**
+	 * Advances a running fling to the frame time, snapping once it settles
+	 */
+	private void stepFling(long frameTimeMillis) {
+		
+		if (!mFlinging) return;
+		
+		// if we don't have any dynamics set we do nothing
+		if (mDynamics == null) {
+			mFlinging = false;
+			return;
+		}
+		
+		mDynamics.update(frameTimeMillis);
+		
+		// Keep the rotation amount between 0 - 360
+		rotateChart(mDynamics.getPosition() % 360);
+		
+		if (mDynamics.isAtRest(VELOCITY_TOLERANCE)) {
+			
+			mFlinging = false;
+			traceRotationState();
+			
+			// The fling already landed on its slice unless the slices changed
+			if (mFlingIndex != INVALID_INDEX) {
+				rotateChart(mFlingIndex, false);
+			} else {
+				snapTo();
+			}
+		}
+	}
+	
+	/**
+	 * Picks the slice a fling comes to rest on as soon as it starts, and bends
+	 * the fling so it lands with that slice on the snap anchor instead of
+	 * snapping with a second animation afterwards.
+	 */
+	private void snapFling() {
+		
+		final float end = mDynamics.getFinalPosition();
+		
+		mFlingIndex = INVALID_INDEX;
+		
+		if (Float.isInfinite(end)) return;
+		
+		final SliceLayout layout = getLayout();
+		final float rotation = RotationMath.normalize(end);
+		final int index = layout.indexAt(rotation, mSnapToDegree);
+		
+		if (index == SliceLayout.INVALID_INDEX) return;
+		
+		// Land on the snap rotation closest to where the fling would stop
+		final float snap = layout.getSnapRotation(index, mSnapToDegree);
+		mDynamics.snapTo(end + snap - RotationMath.shortestStart(rotation, snap));
+		
+		mFlingIndex = index;
+	}
+	
+	/**
+	 * Returns the index the chart is coming to rest on. During a fling this is
+	 * known from the moment it starts, otherwise it is the current index.
+	 */
+	public int getRestingIndex() {
+		
+		if (mFlinging && mFlingIndex != INVALID_INDEX) return mFlingIndex;
+		
+		return getCurrentIndex();
+	}
+	
+	/**
+	 * Returns the index of the slice shown at a screen angle, found by a
+	 * binary search over the slice angles. Only use it on the UI thread.
+	 * 
+	 * @param degree Screen angle, clockwise from 3 o'clock like the snap anchors
+	 * @return The slice index or -1 if no slice is shown there
+	 */
+	public int indexAtAngle(float degree) {
+		return getLayout().indexAt(mRotationDegree, degree);
+	}
+	
+	/**
+	 * Returns the screen angle the center of the slice is currently shown at,
+	 * between 0 and 360. Only use it on the UI thread.
+	 */
+	public float angleOfIndex(int index) {
+		
+		final SliceLayout layout = getLayout();
+		
+		if (index < 0 || index >= layout.size()) {
+			throw new IndexOutOfBoundsException("index " + index + ", size " + layout.size());
+		}
+		
+		return RotationMath.normalize(layout.getCenterAngle(index) + mRotationDegree);
+	}
+	
+	/**
+	 * Returns the number of frames posted to the surface since the view was
+	 * created. Sample it twice to get the frame rate; an idle chart in
+	 * {@link #RENDERMODE_WHEN_DIRTY} does not advance it.
+	 */
+	public long getRenderedFrameCount() {
+		return mRenderedFrameCount;
+	}
+	
+	/**
+	 * Reports the timings of every frame to listener, on the draw thread right
+	 * after the frame is posted. Timing is only collected while a listener is
+	 * set, and recording a frame does not allocate. Pass null to stop.
+	 */
+	public void setOnFrameMetricsListener(OnFrameMetricsListener listener) {
+		
+		if (listener == null) {
+			mOnFrameMetricsListener = null;
+			mRenderMetrics = null;
+			return;
+		}
+		
+		if (mRenderMetrics == null) {
+			mRenderMetrics = new RenderMetrics();
+		}
+		
+		mOnFrameMetricsListener = listener;
+	}
+	
+	/**
+	 * Returns the metrics collected since a frame metrics listener was set,
+	 * or null if none is set
+	 */
+	public RenderMetrics getRenderMetrics() {
+		return mRenderMetrics;
+	}
+	
 	public void onPause() {
 		mDrawThread.onPause();
 	}
@@ -235,16 +780,58 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		this.mOnItemClickListener = mOnItemClickListener;
 	}
 
+	/**
+	 * Returns the slice at index, or null. Slices are stored as plain arrays,
+	 * the returned drawable is a view of one slice that is rebound by the
+	 * next call, so read what you need before calling again. Color and percent
+	 * changes made on it are copied back to the chart. Only use it on the UI
+	 * thread, and note that PieSliceDrawable subclasses that override draw
+	 * are not used.
+	 */
 	public PieSliceDrawable getSlice(int index) {
+		
+		if (index < 0 || index >= mSlices.size()) return null;
+		
+		if (mSliceView == null) {
+			mSliceView = new PieSliceDrawable(this, getContext());
+		}
+		
+		mBindingSliceView = true;
+		
+		mSliceView.setSliceColor(mSlices.getColor(index));
+		mSliceView.setPercent(mSlices.getPercent(index));
+		mSliceView.setDegreeOffset(mSlices.getDegreeOffset(index));
+		mSliceView.setItemId(mSlices.getItemId(index));
+		mSliceView.setPosition(mSlices.getPosition(index));
+		mSliceView.setStokeWidth(mSlices.getStrokeWidth());
+		mSliceView.setBounds(getBounds());
+		
+		mBindingSliceView = false;
+		mSliceViewIndex = index;
+		
+		return mSliceView;
+	}
 	
-		synchronized(mDrawables) {
+	/**
+	 * Copies a color or percent set on the slice returned by getSlice back
+	 * into the slice store
+	 */
+	private void onSliceViewChanged() {
+		
+		final int index = mSliceViewIndex;
+		
+		if (mBindingSliceView || index == INVALID_INDEX || index >= mSlices.size()) return;
+		
+		mSlices.setColor(index, mSliceView.getSliceColor());
+		
+		if (mSlices.getPercent(index) != mSliceView.getPercent()) {
 			
-			if (mDrawables.size() > index) {
-				return mDrawables.get(index);
-			}
+			mSlices.setPercent(index, mSliceView.getPercent());
+			updateSliceOffsets(index);
+			
+		} else {
+			invalidateSliceGeometry();
 		}
-		
-		return null;
 	}
 	
 	public PieChartView(Context context) {
@@ -272,24 +859,135 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		init();
 	}
 	
+	/**
+	 * Creates a chart that is never attached and draws through the host
+	 * instead of a surface, see {@link PieChartLayerView}
+	 */
+	PieChartView(Context context, View host) {
+		super(context);
+		
+		mHost = host;
+		init();
+	}
+	
 	private void init() {
 
 		Context context = getContext();
 		
 		mHandler = new Handler();
 		
-        getHolder().addCallback(this);
-		setZOrderOnTop(true);
-        getHolder().setFormat(PixelFormat.TRANSPARENT);
+		mFrameCallback = new Choreographer.FrameCallback() {
+			
+			@Override
+			public void doFrame(long frameTimeNanos) {
+				
+				mFrameScheduled = false;
+				
+				// Fling first so this frame draws the rotation it produced
+				stepFling(frameTimeNanos / NANOS_PER_MILLI);
+				mDrawThread.postFrame(frameTimeNanos);
+				
+				if (mFlinging || mDrawThread.needsFrames()) {
+					scheduleFrame();
+				}
+			}
+		};
+		
+		mScheduleFrameRunnable = new Runnable() {
+			
+			@Override
+			public void run() {
+				scheduleFrame();
+			}
+		};
+		
+		if (mHost == null) {
+	        getHolder().addCallback(this);
+			setZOrderOnTop(true);
+	        getHolder().setFormat(PixelFormat.TRANSPARENT);
+		}
         
         mDrawThread = new DrawThread(getHolder(), mHandler);
 		
 		mScrollThreshold = ViewConfiguration.get(context).getScaledTouchSlop();
-		mPixelDensity = UiUtils.getDisplayMetrics(context).density;
+		mPixelDensity = ScreenMetrics.get(context).density;
 		mStrokeWidth = UiUtils.getDynamicPixels(context, SUB_STROKE_WIDTH);
 		
-		mDrawables = new ArrayList<PieSliceDrawable>();
-		mRecycledDrawables = new LinkedList<PieSliceDrawable>();
+		mSlices = new SliceStore();
+		mSlicePool = new SlicePool();
+		
+		mTrimMemoryCallbacks = new ComponentCallbacks2() {
+			
+			@Override
+			public void onTrimMemory(int level) {
+				mSlicePool.onTrimMemory(level);
+			}
+			
+			@Override
+			public void onLowMemory() {
+				mSlicePool.clear();
+			}
+			
+			@Override
+			public void onConfigurationChanged(Configuration newConfig) {}
+		};
+		mLayoutBuilder = new SliceLayout.Builder();
+		mTransition = new SliceTransition();
+		
+		mTransitionAnimator = ThreadAnimator.ofFloat(0, 1);
+		mTransitionAnimator.setDuration(400);
+		mTransitionAnimator.setAnimationListener(new ThreadAnimator.AnimationListener() {
+			
+			@Override
+			public void onAnimationEnded() {
+				mHandler.post(mEndTransitionRunnable);
+			}
+		});
+		
+		mEndTransitionRunnable = new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				// A newer transition may have restarted the animator meanwhile
+				if (!mTransitionAnimator.isRunning()) {
+					endDataTransition();
+				}
+			}
+		};
+		
+		mPublishSnapshotRunnable = new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				if (mSnapshotPending) {
+					publishSnapshot();
+				}
+			}
+		};
+		
+		mAddSlicesRunnable = new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				mSlicesPending = false;
+				
+				if (mAdapter != null && !isLoaded()) {
+					
+					ChartTrace.begin(ChartTrace.ADD_PIE_SLICES);
+					try {
+						addPieSlices();
+					} finally {
+						ChartTrace.end();
+					}
+					
+					invalidateDrawingCache();
+					snapTo();
+				}
+			}
+		};
 		
 		initPaints();
 	}
@@ -304,6 +1002,8 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		mStrokePaint.setStrokeWidth(UiUtils.getDynamicPixels(getContext(), INFO_STROKE_WIDTH));
 		mStrokePaint.setColor(Color.BLACK);
 		mStrokePaint.setAlpha(50);
+		
+		mRotationLayerPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
 	}
 
     @Override
@@ -375,7 +1075,7 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
     private void startTouch(final MotionEvent event) {
     	
         // user is touching the list -> no more fling
-        removeCallbacks(mDynamicsRunnable);
+        mFlinging = false;
         
         mLastRotation = getRotationDegree();
     	
@@ -398,40 +1098,14 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
     	}
 
 
-        // create the dynamics runnable if we haven't before
-        if (mDynamicsRunnable == null) {
-        	
-            mDynamicsRunnable = new Runnable() {
-            	
-                public void run() {
-                	
-                    // if we don't have any dynamics set we do nothing
-                    if (mDynamics == null) {
-                        return;
-                    }
-                    
-
-                    mDynamics.update(AnimationUtils.currentAnimationTimeMillis());
-
-                    // Keep the rotation amount between 0 - 360
-                    rotateChart(mDynamics.getPosition() % 360);
-
-                    if (!mDynamics.isAtRest(VELOCITY_TOLERANCE)) {
-
-                        postDelayed(this, 8);
-                        
-                    } else {
-
-                    	snapTo();
-                    }
-
-                }
-            };
-        }
-
         if (mDynamics != null && Math.abs(velocity) > ViewConfiguration.get(getContext()).getScaledMinimumFlingVelocity()) {
+        	
+        	// The fling is stepped from the frame callback, see stepFling
             mDynamics.setState((float) getRotationDegree(), velocity, AnimationUtils.currentAnimationTimeMillis());
-            post(mDynamicsRunnable);
+            snapFling();
+            mFlinging = true;
+            traceRotationState();
+            scheduleFrame();
             
         } else if (mTouchState != TOUCH_STATE_CLICK) {
         	
@@ -471,18 +1145,28 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 
         if (index != INVALID_INDEX) {
         	
-            final PieSliceDrawable sliceView = mDrawables.get(index);
-            final long id = mAdapter.getItemId(index);
+            final PieSliceDrawable sliceView = getSlice(index);
+            final int position = mSlices.getPosition(index);
+            final long id = mSlices.getItemId(index);
             boolean secondTap = false;
             
+            getChartView().playSoundEffect(SoundEffectConstants.CLICK);
+            
+            if (position == OTHER_POSITION) {
+            	
+            	performItemClick(false, sliceView, position, id);
+            	setOtherSliceExpanded(true);
+            	
+            	return;
+            }
+            
             if (getCurrentIndex() != index) {
-            	animateTo(sliceView, index);
+            	animateTo(index);
             } else {
             	secondTap = true;
             }
 
-            playSoundEffect(SoundEffectConstants.CLICK);
-            performItemClick(secondTap, sliceView, index, id);
+            performItemClick(secondTap, sliceView, position, id);
         }
     }
 
@@ -490,7 +1174,7 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
     	
         if (mOnItemClickListener != null) {
         	
-            mOnItemClickListener.onItemClick(secondTap, this, view, position, id);
+            mOnItemClickListener.onItemClick(secondTap, getChartView(), view, position, id);
             
             return true;
         }
@@ -501,21 +1185,18 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
     private int getContainingChildIndex(final int x, final int y) {
 
     	if (!inCircle(x, y)) return INVALID_INDEX;
-        final Bitmap viewBitmap = getDrawingCache();
-        
-        if (viewBitmap == null) return INVALID_INDEX;
-        int pixel = viewBitmap.getPixel(x, y);
-        
-        for (int index = 0; index < mDrawables.size(); index++) {
-        	
-            final PieSliceDrawable slice = mDrawables.get(index);
-            
-            if (slice.getSliceColor() == pixel) {
-                return index;
-            }
-        }
-        
-        return INVALID_INDEX;
+    	
+    	final float dx = x - mCenter.x;
+    	final float dy = y - mCenter.y;
+    	
+    	// The slices are drawn scaled around the center
+    	final float radius = getChartRadius() * mChartScale;
+    	if ((dx * dx + dy * dy) > radius * radius) return INVALID_INDEX;
+    	
+    	// Screen angle of the touch, indexAt removes the chart rotation
+    	final float degree = (float) Math.toDegrees(Math.atan2(dy, dx));
+    	
+    	return indexAtAngle(degree);
     }
 
     private boolean inCircle(final int x, final int y) {
@@ -557,47 +1238,163 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		// Get the center coordinates of the view
 		mCenter.x = (float) Math.abs(left - right) / 2;
 		mCenter.y = (float) Math.abs(top - bottom) / 2;
+		
+		if (changed) {
+			invalidateSliceGeometry();
+			
+			// A hosted chart gets no surfaceChanged
+			if (mHost != null) {
+				invalidateDrawingCache();
+			}
+		}
 	}
 
+    /**
+     * Builds the slices on the UI thread once the current batch of changes
+     * is done, instead of on the draw thread while it renders.
+     */
+    private void requestSlices() {
+    	
+    	if (mSlicesPending) return;
+    	
+    	mSlicesPending = true;
+    	mHandler.post(mAddSlicesRunnable);
+    }
+
     private void addPieSlices() {
     	
-    	synchronized (mDrawables) {
-    		
-	    	float offset = 0;
-	    	
-	        for (int index = 0; index < mAdapter.getCount(); index++) {
-	            
-	        	// Check for any recycled PieSliceDrawables
-	        	PieSliceDrawable recycled = getRecycledSlice();
-	        	
-	        	// Get the slice from the adapter
-	            final PieSliceDrawable childSlice = mAdapter.getSlice(this, recycled, index, offset);
-	            
-	            childSlice.setBounds(getBounds());
-	            mDrawables.add(childSlice);
-	            
-	            offset += childSlice.getDegrees();
-	        }
-	        
-	        setLoaded(true);
-    	}
+		// Decide which items get their own slice before binding any
+		final SliceLayout layout = isAggregating()
+				? SliceLayout.compute(mAdapter, mAggregateMinDegrees, mAggregateMaxSlices, mLayoutBuilder)
+				: SliceLayout.compute(mAdapter, 0, 0, mLayoutBuilder);
+    	
+        for (int index = 0; index < layout.size(); index++) {
+        	
+        	final int position = layout.getPosition(index);
+        	
+        	if (position == OTHER_POSITION) {
+        		mSlices.add(layout.getSweep(index) / 360, mOtherSliceColor, OTHER_ITEM_ID, OTHER_POSITION);
+        	} else {
+        		bindSlice(mSlices, mSlices.size(), position, layout.getStartAngle(index));
+        	}
+        }
+        
+        mSlices.updateOffsets(0);
+        
+        // Give back the arrays of a chart that used to be much larger
+        mSlices.trimToSize();
+        
+        mLayout = layout;
+        mLayoutDirty = false;
+        
+        setLoaded(true);
+        publishSnapshot();
+        
+        final RenderMetrics metrics = mRenderMetrics;
+        if (metrics != null) {
+        	metrics.onSlicesRebuilt();
+        }
+    }
+    
+    /**
+     * Returns the layout of the current slices, rebuilt from the slice store
+     * after it changed. Only allocates when the slices changed since the
+     * last call, or on every call while a data transition runs.
+     */
+    private SliceLayout getLayout() {
+    	
+		if (mTransition.isActive()) {
+			
+			// The slices only move on the draw thread, follow its progress
+			final float progress = mTransitionProgress;
+			
+			mLayoutBuilder.clear();
+			
+			for (int i = 0; i < mTransition.getCount(); i++) {
+				
+				final float from = mTransition.getFromPercent(i);
+				final float percent = from + (mTransition.getToPercent(i) - from) * progress;
+				
+				mLayoutBuilder.add(percent * 360, mSlices.getPosition(i));
+			}
+			
+			return mLayoutBuilder.build();
+		}
+		
+		if (mLayoutDirty) {
+			
+			mLayoutBuilder.clear();
+			
+			for (int i = 0; i < mSlices.size(); i++) {
+				mLayoutBuilder.add(mSlices.getDegrees(i), mSlices.getPosition(i));
+			}
+			
+			mLayout = mLayoutBuilder.build();
+			mLayoutDirty = false;
+		}
+		
+		return mLayout;
+    }
+    
+    /**
+     * Marks the layout stale after slice angles or the slice list changed
+     */
+    private void invalidateLayout() {
+    	mLayoutDirty = true;
+    	mFlingIndex = INVALID_INDEX;
     }
 
+    /**
+     * Returns the slice bounds for the current layout. The same Rect is
+     * returned on every call, callers must copy it if they keep it.
+     */
     private Rect getBounds() {
 
         int left = (int) (mCenter.x - getChartRadius());
         int top = (int) (mCenter.y - getChartRadius());
         
-    	return new Rect(left, top, left + mChartDiameter, top + mChartDiameter);
+        mSliceBounds.set(left, top, left + mChartDiameter, top + mChartDiameter);
+        
+    	return mSliceBounds;
+    }
+    
+    /**
+     * Gets a slice from the adapter inside a trace section
+     */
+    PieSliceDrawable getAdapterSlice(PieSliceDrawable convertDrawable, int position, float offset) {
+    	
+    	ChartTrace.begin(ChartTrace.GET_SLICE);
+    	try {
+    		return mAdapter.getSlice(this, convertDrawable, position, offset);
+    	} finally {
+    		ChartTrace.end();
+    	}
     }
 
-    private PieSliceDrawable getRecycledSlice() {
-        
-    	if (mRecycledDrawables.size() != 0) {
-            return mRecycledDrawables.removeFirst();
-        }
-        
-        return null;
+    /**
+     * Binds the adapter item at position through a pooled drawable and copies
+     * the result into the store, the drawable goes straight back to the pool
+     * 
+     * @param index Index in the store, or its size to append
+     */
+    void bindSlice(SliceStore store, int index, int position, float offset) {
+    	
+    	PieSliceDrawable convert = mSlicePool.acquire();
+    	
+    	if (convert == null) {
+    		convert = new PieSliceDrawable(this, getContext());
+    	}
+    	
+    	final PieSliceDrawable slice = getAdapterSlice(convert, position, offset);
+    	
+    	store.set(index, slice.getPercent(), slice.getSliceColor(), mAdapter.getItemId(position), position);
+    	store.setStrokeWidth(slice.getStrokeWidth());
+    	
+    	mSlicePool.release(slice);
+    	
+    	if (slice != convert) {
+    		mSlicePool.release(convert);
+    	}
     }
 
     public int toggleChart() {
@@ -620,12 +1417,21 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 			
 			@Override
 			public void onAnimationEnded() {
-				mDrawingCache = null;
 				
-				if (mNeedsUpdate) {
-					mNeedsUpdate = false;
-					resetChart();
-				}
+				// Called on the draw thread, the chart is reset on the UI thread
+				mHandler.post(new Runnable() {
+					
+					@Override
+					public void run() {
+						
+						invalidateDrawingCache();
+						
+						if (mNeedsUpdate) {
+							mNeedsUpdate = false;
+							resetChart();
+						}
+					}
+				});
 			}
 		});
     	
@@ -646,25 +1452,15 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 
     private void snapTo(boolean animated) {
     	
-    	for (int index = 0; index < mDrawables.size(); index++) {
-        	
-            final PieSliceDrawable slice = mDrawables.get(index);
-            
-            if (slice.containsDegree(mRotationDegree, mSnapToDegree)) {
-            	
-            	rotateChart(slice, index, animated);
-            	
-            	break;
-            }
+    	final int index = indexAtAngle(mSnapToDegree);
+    	
+    	if (index != INVALID_INDEX) {
+    		rotateChart(index, animated);
     	}
     }
 
     private void animateTo(int index) {
-    	rotateChart(null, index, true);
-    }
-    
-    private void animateTo(PieSliceDrawable slice, int index) {
-    	rotateChart(slice, index, true);
+    	rotateChart(index, true);
     }
     
 
@@ -677,14 +1473,25 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 			@Override
 			public void onAnimationEnded() {
 				
-				if (mOnRotationStateChangeListener != null) {
-		        	mOnRotationStateChangeListener.onRotationStateChange(TOUCH_STATE_RESTING);
-		        }
+				invalidateDrawingCache();
 				
-				mDrawingCache = null;
+				mHandler.post(new Runnable() {
+					
+					@Override
+					public void run() {
+						
+						traceRotationState();
+						
+						if (mOnRotationStateChangeListener != null) {
+				        	mOnRotationStateChangeListener.onRotationStateChange(TOUCH_STATE_RESTING);
+				        }
+					}
+				});
 			}
 		});
     	
+    	ChartTrace.counter(ChartTrace.ROTATION_STATE, TOUCH_STATE_ROTATE);
+    	
     	if (mOnRotationStateChangeListener != null) {
         	mOnRotationStateChangeListener.onRotationStateChange(TOUCH_STATE_ROTATE);
         }
@@ -692,39 +1499,26 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
     	getDrawThread().setRotateAnimator(rotate);
     }
     
-    private void rotateChart(PieSliceDrawable slice, int index, boolean animated) {
+    private void rotateChart(int index, boolean animated) {
     	
-    	synchronized (mDrawables) {
-    		
-	    	if (mDrawables.size() == 0
-	    			|| mDrawables.size() <= index
-	    			|| !isEnabled()) return;
-	    	
-	    	if (slice == null) {
-	    		slice = mDrawables.get(index);
-	    	}
-	        float degree = slice.getSliceCenter();
-
-	    	degree = mSnapToDegree - degree;
-	    	if (degree < 0) degree += 360;
-	    	
-	    	float start = getRotationDegree();
-	    	float rawDiff = Math.abs(start - degree);
-	    	float modDiff = rawDiff % 360f;
-	    	
-	    	if (modDiff > 180.0) {
-	    		start = start > degree ? (360 - start) * -1 : (360 + start);
-	    	}
-	
-	    	if (animated) {
-	    		animateTo(start, degree);
-	    	} else {
-	    		setRotationDegree(degree);
-				mDrawingCache = null;
-	    	}
-	    	
-			setCurrentIndex(index);
+    	// The layout follows a running data transition, the slice store does not
+    	final SliceLayout layout = getLayout();
+    	
+    	if (layout.size() == 0
+    			|| layout.size() <= index
+    			|| !isEnabled()) return;
+    	
+    	final float degree = layout.getSnapRotation(index, mSnapToDegree);
+    	final float start = RotationMath.shortestStart(getRotationDegree(), degree);
+
+    	if (animated) {
+    		animateTo(start, degree);
+    	} else {
+    		setRotationDegree(degree);
+			invalidateDrawingCache();
     	}
+    	
+		setCurrentIndex(index);
     }
 
     private void rotateChart(final float x, final float y) {
@@ -750,6 +1544,76 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
     	mRotatingClockwise = (change > 0 && Math.abs(change) < 300) || (Math.abs(change) > 300 && mRotatingClockwise);
     }
 
+	/**
+	 * When enabled, notifyDataSetChanged animates every slice from its current
+	 * angle to the new one instead of rebuilding the chart. Items are matched by
+	 * {@link BasePieChartAdapter#getItemId(int)}, so adapters with stable ids
+	 * keep their slices across reorders.
+	 */
+	public void setDataTransitionsEnabled(boolean enabled) {
+		mDataTransitionsEnabled = enabled;
+	}
+	
+	public boolean isDataTransitionsEnabled() {
+		return mDataTransitionsEnabled;
+	}
+	
+	public void setDataTransitionDuration(long duration) {
+		mTransitionAnimator.setDuration(duration);
+	}
+	
+	public long getDataTransitionDuration() {
+		return mTransitionAnimator.getDuration();
+	}
+	
+	/**
+	 * Starts tweening the slices towards the current adapter state
+	 */
+	private void startDataTransition() {
+		
+		mSliceViewIndex = INVALID_INDEX;
+		
+		// The store still holds the start of a running transition, restart
+		// from what the draw thread currently shows instead
+		if (mTransition.isActive()) {
+			mTransition.apply(mSlices, mTransitionProgress);
+		}
+		
+		mTransition.begin(this, mAdapter, mSlices);
+		mTransition.apply(mSlices, 0);
+		invalidateLayout();
+		
+		// The draw thread interpolates the published percents from here on
+		mTransitionProgress = 0;
+		publishSnapshot();
+		
+		getDrawThread().setTransitionAnimator(mTransitionAnimator);
+	}
+	
+	/**
+	 * Sets how far the running data transition is, 0 to 1. Called by the
+	 * draw thread on every frame.
+	 */
+	void setTransitionProgress(float progress) {
+		mTransitionProgress = progress;
+	}
+	
+	/**
+	 * Jumps a running data transition to its end state
+	 */
+	private void endDataTransition() {
+		
+		if (!mTransition.isActive()) return;
+		
+		mTransitionAnimator.cancel();
+		mTransition.finish(mSlices);
+		invalidateLayout();
+		
+		publishSnapshot();
+		invalidateDrawingCache();
+		snapTo();
+	}
+
 	public BasePieChartAdapter getPieChartAdapter() {
 		return mAdapter;
 	}
@@ -759,10 +1623,18 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		// Unregister the old data change observer
 		if (mAdapter != null && mDataSetObserver != null) {
 			mAdapter.unregisterDataSetObserver(mDataSetObserver);
+			mAdapter.unregisterPieChartDataObserver(mItemObserver);
 		}
 		
 		// Perform validation check
-		float total = validAdapter(adapter);
+		ChartTrace.begin(ChartTrace.VALIDATE_ADAPTER);
+		float total;
+		try {
+			total = adapter.getTotal();
+		} finally {
+			ChartTrace.end();
+		}
+		
 		if ((1f - total) > 0.0001f) {
 			return;
 		}
@@ -775,52 +1647,155 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		if (mAdapter != null) {
 			mDataSetObserver = new AdapterDataSetObserver();
 			mAdapter.registerDataSetObserver(mDataSetObserver);
+			
+			mItemObserver = new AdapterItemObserver();
+			mAdapter.registerPieChartDataObserver(mItemObserver);
 		}
+		
+		requestRender();
 	}
 
-	private float validAdapter(BasePieChartAdapter adapter) {
+	/**
+	 * Resets the chart and clears the slices, they are rebuilt from the
+	 * adapter on the next UI loop
+	 */
+	private void resetChart() {
 		
-		float total = 0;
+		ChartTrace.begin(ChartTrace.RESET_CHART);
 		
-		for (int i = 0; i < adapter.getCount(); i++) {
-			total += adapter.getPercent(i);
+		try {
+			
+			setLoaded(false);
+			
+			mTransitionAnimator.cancel();
+			mTransition.cancel();
+			
+			mSlices.clear();
+			mSliceViewIndex = INVALID_INDEX;
+			mLayout = SliceLayout.EMPTY;
+			mLayoutDirty = false;
+			mFlingIndex = INVALID_INDEX;
+			
+			publishSnapshot();
+			requestSlices();
+			
+		} finally {
+			ChartTrace.end();
 		}
-		return total;
 	}
 	
 	/**
-	 * Resets the chart and recycles all PieSliceDrawables
+	 * Rebinds the slices of a changed adapter range in place
 	 */
-	private void resetChart() {
+	private void updateSlices(int positionStart, int itemCount) {
+		
+		endDataTransition();
+		
+		if (positionStart + itemCount > mSlices.size()) {
+			resetChart();
+			return;
+		}
 		
-		synchronized(mDrawables) {
+		float offset = getSliceEndDegree(positionStart - 1);
+		
+		for (int index = positionStart; index < positionStart + itemCount; index++) {
 			
-			setLoaded(false);
+			bindSlice(mSlices, index, index, offset);
+			offset += mSlices.getDegrees(index);
+		}
+		
+		updateSliceOffsets(positionStart);
+	}
+	
+	/**
+	 * Binds the slices of an inserted adapter range
+	 */
+	private void insertSlices(int positionStart, int itemCount) {
+		
+		endDataTransition();
+		
+		if (positionStart > mSlices.size()) {
+			resetChart();
+			return;
+		}
+		
+		float offset = getSliceEndDegree(positionStart - 1);
+		
+		mSlices.insert(positionStart, itemCount);
+		mSliceViewIndex = INVALID_INDEX;
+		
+		for (int index = positionStart; index < positionStart + itemCount; index++) {
 			
-			mRecycledDrawables.addAll(mDrawables);
-			mDrawables.clear();
+			bindSlice(mSlices, index, index, offset);
+			offset += mSlices.getDegrees(index);
+		}
+		
+		// The slices after the gap moved to new adapter positions
+		mSlices.updatePositions(positionStart + itemCount);
+		updateSliceOffsets(positionStart);
+	}
+	
+	/**
+	 * Drops the slices of a removed adapter range
+	 */
+	private void removeSlices(int positionStart, int itemCount) {
+		
+		endDataTransition();
+		
+		if (positionStart + itemCount > mSlices.size()) {
+			resetChart();
+			return;
 		}
+		
+		mSlices.remove(positionStart, itemCount);
+		mSliceViewIndex = INVALID_INDEX;
+		
+		mSlices.updatePositions(positionStart);
+		updateSliceOffsets(positionStart);
+	}
+	
+	private float getSliceEndDegree(int index) {
+		
+		if (index < 0) return 0;
+		
+		return mSlices.getEndDegree(index);
+	}
+	
+	/**
+	 * Moves every slice from index on to follow its predecessor and refreshes
+	 * the angle index. Slices before index are left untouched.
+	 */
+	private void updateSliceOffsets(int index) {
+		
+		mSlices.updateOffsets(index);
+		
+		invalidateLayout();
+		
+		publishSnapshot();
+		invalidateDrawingCache();
+		snapTo();
 	}
 
 	@Override
 	public void surfaceChanged(SurfaceHolder holder, int format, int width,
 			int height) {
+		invalidateDrawingCache();
 	}
 
 	@Override
 	public void surfaceCreated(SurfaceHolder holder) {
 		
-		if (mDrawThread.getState() == Thread.State.TERMINATED) {
-			
+		// A thread can only be started once, a scheduled one never is
+		if (mDrawThread.getState() != Thread.State.NEW) {
 			mDrawThread = new DrawThread(getHolder(), mHandler);
-			mDrawThread.setRunning(true);
+		}
+		
+		if (mRenderScheduler != null) {
+			mDrawThread.attach(mRenderScheduler);
+		} else {
+			mDrawThread.setRunning(true);
 			mDrawThread.start();
-			
-        } else {
-        	
-        	mDrawThread.setRunning(true);
-        	mDrawThread.start();
-        }
+		}
 	}
 
 	@Override
@@ -829,6 +1804,12 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		boolean retry = true;
 
 		mDrawThread.onResume();
+		
+		if (mDrawThread.getScheduler() != null) {
+			mDrawThread.detach();
+			return;
+		}
+		
 		mDrawThread.setRunning(false);
 		
 		while (retry) {
@@ -840,23 +1821,49 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 	}
 
 	protected class DrawThread extends Thread {
+		
+		private static final long NO_FRAME = -1;
 
 		private SurfaceHolder mSurfaceHolder;
 		private boolean mIsRunning;
 		private Object mPauseLock = new Object();
 		private boolean mPaused;
-		private ThreadAnimator mRotateAnimator, mScaleAnimator;
+		private boolean mDirty;
+		private long mFrameTimeNanos = NO_FRAME;
+		private volatile ThreadAnimator mRotateAnimator, mScaleAnimator, mTransitionAnimator;
 		private Handler mHandler;
+		private ChartRenderScheduler mScheduler;
+		private ChartSnapshot mHostedSnapshot;
+		private float mHostedProgress;
+		private long mHostedFrameTimeNanos;
+		private final ChartRenderScheduler.Client mClient;
 
 		public DrawThread(SurfaceHolder surfaceHolder, Handler handler) {
 			this.mSurfaceHolder = surfaceHolder;
 			this.mHandler = handler;
 			mIsRunning = false;
 			mPaused = true;
+			mDirty = true;
+			
+			mClient = new ChartRenderScheduler.Client(new Runnable() {
+				
+				@Override
+				public void run() {
+					renderPendingFrame();
+				}
+			});
 		}
 
 		public void setRunning(boolean run) {
-			mIsRunning = run;
+			
+			synchronized (mPauseLock) {
+				mIsRunning = run;
+				mPauseLock.notifyAll();
+			}
+			
+			if (run) {
+				requestRender();
+			}
 		}
 		
 		public boolean isRunning() {
@@ -867,14 +1874,202 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 			return mPaused;
 		}
 		
+		/**
+		 * Draws from the scheduler instead of starting this thread
+		 */
+		public void attach(ChartRenderScheduler scheduler) {
+			
+			mScheduler = scheduler;
+			scheduler.attach(mClient);
+			
+			setRunning(true);
+			postReady();
+		}
+		
+		/**
+		 * Leaves the scheduler, returning once no frame is being drawn
+		 */
+		public void detach() {
+			
+			setRunning(false);
+			
+			mScheduler.detach(mClient);
+			mScheduler = null;
+		}
+		
+		public ChartRenderScheduler getScheduler() {
+			return mScheduler;
+		}
+		
 		public void setRotateAnimator(ThreadAnimator mRotateAnimator) {
-			this.mRotateAnimator = mRotateAnimator;
+			// Start before publishing so the draw thread sees the started animator
 			mRotateAnimator.start();
+			this.mRotateAnimator = mRotateAnimator;
+			requestRender();
+		}
+
+		public void setTransitionAnimator(ThreadAnimator mTransitionAnimator) {
+			mTransitionAnimator.start();
+			this.mTransitionAnimator = mTransitionAnimator;
+			requestRender();
 		}
 
 		public void setScaleAnimator(ThreadAnimator mScaleAnimator) {
-			this.mScaleAnimator = mScaleAnimator;
 			mScaleAnimator.start();
+			this.mScaleAnimator = mScaleAnimator;
+			requestRender();
+		}
+		
+		/**
+		 * Marks the chart as dirty and asks for a frame on the next vsync
+		 */
+		public void requestRender() {
+			
+			synchronized (mPauseLock) {
+				mDirty = true;
+			}
+			
+			scheduleFrame();
+		}
+		
+		/**
+		 * Hands the thread the timestamp of a vsync to render. A frame that
+		 * arrives while the previous one is still drawing replaces it, so a
+		 * slow frame drops frames instead of queueing them.
+		 */
+		public void postFrame(long frameTimeNanos) {
+			
+			if (mHost != null) {
+				postHostedFrame(frameTimeNanos);
+				return;
+			}
+			
+			synchronized (mPauseLock) {
+				
+				// A vsync with nothing to draw is neither drawn nor missed
+				if (!hasWork()) {
+					mFrameTimeNanos = NO_FRAME;
+					return;
+				}
+				
+				final RenderMetrics metrics = mRenderMetrics;
+				if (metrics != null && mFrameTimeNanos != NO_FRAME) {
+					metrics.onFrameMissed();
+				}
+				
+				mFrameTimeNanos = frameTimeNanos;
+				mPauseLock.notifyAll();
+			}
+			
+			// Only charts with something to draw take a turn on the scheduler
+			final ChartRenderScheduler scheduler = mScheduler;
+			if (scheduler != null) {
+				scheduler.schedule(mClient);
+			}
+		}
+		
+		/**
+		 * Advances a hosted chart on the UI thread. Rotation and scale only
+		 * change the host's render properties, the host is redrawn when the
+		 * slices or transition progress change.
+		 */
+		private void postHostedFrame(long frameTimeNanos) {
+			
+			synchronized (mPauseLock) {
+				
+				if (!mIsRunning || mPaused) return;
+				
+				mDirty = false;
+			}
+			
+			mHostedFrameTimeNanos = frameTimeNanos;
+			updateAnimators(frameTimeNanos / NANOS_PER_MILLI);
+			
+			final ChartSnapshot snapshot = mSnapshot;
+			
+			mHost.setPivotX(snapshot.getCenterX());
+			mHost.setPivotY(snapshot.getCenterY());
+			mHost.setRotation(mRotationDegree);
+			mHost.setScaleX(mChartScale);
+			mHost.setScaleY(mChartScale);
+			
+			// The rotation layer becomes a hardware layer the GPU rotates
+			final int layerType = mRotationLayerEnabled ? LAYER_TYPE_HARDWARE : LAYER_TYPE_NONE;
+			if (mHost.getLayerType() != layerType) {
+				mHost.setLayerType(layerType, null);
+			}
+			
+			if (snapshot != mHostedSnapshot || mTransitionProgress != mHostedProgress
+					|| mRenderMode == RENDERMODE_CONTINUOUSLY || needsDrawingCache()) {
+				mHost.invalidate();
+			}
+		}
+		
+		/**
+		 * Draws the frame of a hosted chart into the host's display list
+		 */
+		public void drawHosted(Canvas canvas) {
+			
+			releaseUnusedBitmaps();
+			
+			if (needsDrawingCache()) {
+				
+				ChartTrace.begin(ChartTrace.BUILD_DRAWING_CACHE);
+				try {
+					buildDrawingCache();
+				} finally {
+					ChartTrace.end();
+				}
+			}
+			
+			final RenderMetrics metrics = mRenderMetrics;
+			final long start = metrics != null ? System.nanoTime() : 0;
+			
+			final ChartSnapshot snapshot = mSnapshot;
+			mHostedSnapshot = snapshot;
+			mHostedProgress = mTransitionProgress;
+			
+			ChartTrace.begin(ChartTrace.DO_DRAW);
+			try {
+				doDraw(canvas, snapshot, 0, 1, mShowInfo);
+			} finally {
+				ChartTrace.end();
+			}
+			
+			mRenderedFrameCount++;
+			
+			if (metrics != null) {
+				
+				// Nothing is locked or posted, the host's frame is composited later
+				final long drawn = System.nanoTime();
+				metrics.recordFrame(mHostedFrameTimeNanos, start, start, start, drawn, drawn);
+				
+				final OnFrameMetricsListener listener = mOnFrameMetricsListener;
+				if (listener != null) {
+					listener.onFrameMetrics(metrics);
+				}
+			}
+		}
+		
+		/**
+		 * Returns true if the thread wants a frame on every vsync
+		 */
+		public boolean needsFrames() {
+			return mIsRunning && !mPaused && (mRenderMode == RENDERMODE_CONTINUOUSLY || isAnimating());
+		}
+		
+		private boolean isAnimating() {
+			return (mRotateAnimator != null && mRotateAnimator.isRunning())
+					|| (mScaleAnimator != null && mScaleAnimator.isRunning())
+					|| (mTransitionAnimator != null && mTransitionAnimator.isRunning());
+		}
+		
+		/**
+		 * Returns true if the next loop has something to draw or build
+		 */
+		private boolean hasWork() {
+			
+			return mRenderMode == RENDERMODE_CONTINUOUSLY || mDirty || isAnimating() || needsDrawingCache();
 		}
 
 		/**
@@ -885,7 +2080,9 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 			if (mPaused) return;
 			
 		    synchronized (mPauseLock) {
-		    	cleanUp();
+		    	
+		    	// A hosted chart has no surface of its own to clear
+		    	if (mHost == null) cleanUp();
 		        mPaused = true;
 		    }
 		}
@@ -901,80 +2098,200 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		        mPaused = false;
 		        mPauseLock.notifyAll();
 		    }
+		    
+		    requestRender();
 		}
 		
 		@Override
 		public void run() {
 			
-			// Notify any listener the thread is ready and running
-			mHandler.post(new Runnable() {
-				
-				@Override
-				public void run() {
-
-					if (mOnPieChartReadyListener != null) {
-						mOnPieChartReadyListener.onPieChartReady();
-					}
-				}
-			});
+			postReady();
 			
-			Canvas canvas;
+			long frameTimeNanos;
 			
 			while (mIsRunning) {
 				
-				// Check for a pause lock
+				// Check for a pause lock, and park until the next vsync
 				synchronized (mPauseLock) {
-				    while (mPaused) {
+				    while (mIsRunning && (mPaused || mFrameTimeNanos == NO_FRAME)) {
 				        try {
 				            mPauseLock.wait();
 				        } catch (InterruptedException e) {
 				        	Log.e(TAG, "Interrupted", e);
 				        }
 				    }
+				    
+				    if (!mIsRunning) break;
+				    
+				    frameTimeNanos = takeFrame();
 				}
-				if (mDrawables.size() == 0 && mAdapter != null) {
-					
-					addPieSlices();
-					buildDrawingCache();
-					snapTo();
+				
+				if (frameTimeNanos != NO_FRAME) {
+					renderFrame(frameTimeNanos);
+				}
+			}
+		}
+		
+		/**
+		 * Called on a scheduler thread to draw the frame posted last, if any
+		 */
+		private void renderPendingFrame() {
+			
+			long frameTimeNanos;
+			
+			synchronized (mPauseLock) {
+				frameTimeNanos = takeFrame();
+			}
+			
+			if (frameTimeNanos != NO_FRAME) {
+				renderFrame(frameTimeNanos);
+			}
+		}
+		
+		/**
+		 * Consumes the pending vsync, returning NO_FRAME if there is none or
+		 * nothing changed since the last frame. Called holding the pause lock.
+		 */
+		private long takeFrame() {
+			
+			final long frameTimeNanos = mFrameTimeNanos;
+			mFrameTimeNanos = NO_FRAME;
+			
+			if (frameTimeNanos == NO_FRAME || !mIsRunning || mPaused || !hasWork()) {
+				return NO_FRAME;
+			}
+			
+			mDirty = false;
+			return frameTimeNanos;
+		}
+		
+		/**
+		 * Notify any listener the chart is ready and running
+		 */
+		void postReady() {
+			
+			mHandler.post(new Runnable() {
+				
+				@Override
+				public void run() {
+
+					if (mOnPieChartReadyListener != null) {
+						mOnPieChartReadyListener.onPieChartReady();
+					}
 				}
+			});
+		}
+		
+		/**
+		 * Draws one frame to the surface at the vsync time
+		 */
+		private void renderFrame(long frameTimeNanos) {
+			
+			releaseUnusedBitmaps();
 
-				if (mDrawingCache == null) {
+			if (needsDrawingCache()) {
+				
+				ChartTrace.begin(ChartTrace.BUILD_DRAWING_CACHE);
+				try {
 					buildDrawingCache();
+				} finally {
+					ChartTrace.end();
 				}
+			}
+			
+			// Timestamps are only taken while metrics are enabled
+			final RenderMetrics metrics = mRenderMetrics;
+			long start = 0, locked = 0, animated = 0, drawn = 0, posted = 0;
+			
+			Canvas canvas = null;
+			
+			try {
 				
-				canvas = null;
+				if (metrics != null) start = System.nanoTime();
 				
-				try {
-					
-					canvas = mSurfaceHolder.lockCanvas(null);
+				canvas = mSurfaceHolder.lockCanvas(null);
+				
+				if (metrics != null) locked = System.nanoTime();
+				
+				synchronized (mSurfaceHolder) {
 					
-					synchronized (mSurfaceHolder) {
-						
-						if (canvas != null && !mPaused) {
+					if (canvas != null && !mPaused) {
 
-							updateAnimators();
-							canvas.drawColor(0, PorterDuff.Mode.CLEAR);
-					    	doDraw(canvas, mRotationDegree, mChartScale, mShowInfo);
+						updateAnimators(frameTimeNanos / NANOS_PER_MILLI);
+						
+						if (metrics != null) animated = System.nanoTime();
+						
+						canvas.drawColor(0, PorterDuff.Mode.CLEAR);
+						
+						ChartTrace.begin(ChartTrace.DO_DRAW);
+						try {
+							doDraw(canvas, mSnapshot, mRotationDegree, mChartScale, mShowInfo);
+						} finally {
+							ChartTrace.end();
 						}
+				    	
+				    	if (metrics != null) drawn = System.nanoTime();
 					}
+				}
+				
+			} finally {
+				if (canvas != null) {
+					mSurfaceHolder.unlockCanvasAndPost(canvas);
+					mRenderedFrameCount++;
 					
-				} finally {
-					if (canvas != null) {
-						mSurfaceHolder.unlockCanvasAndPost(canvas);
-					}
+					if (metrics != null) posted = System.nanoTime();
+				}
+			}
+			
+			if (metrics != null && drawn != 0 && posted != 0) {
+				
+				metrics.recordFrame(frameTimeNanos, start, locked, animated, drawn, posted);
+				
+				final OnFrameMetricsListener listener = mOnFrameMetricsListener;
+				if (listener != null) {
+					listener.onFrameMetrics(metrics);
 				}
 			}
 		}
 
-		private void updateAnimators() {
+		/**
+		 * Advances every animator to the frame time
+		 */
+		private void updateAnimators(long frameTimeMillis) {
 			
-			if (mRotateAnimator != null && mRotateAnimator.isRunning()) {
-				setRotationDegree(mRotateAnimator.floatUpdate());
+			final ThreadAnimator rotate = mRotateAnimator;
+			final ThreadAnimator scale = mScaleAnimator;
+			final ThreadAnimator transition = mTransitionAnimator;
+			
+			if (rotate != null && rotate.isRunning()) {
+				setRotationDegree(rotate.floatUpdate(frameTimeMillis));
 			}
 
-			if (mScaleAnimator != null && mScaleAnimator.isRunning()) {
-				mChartScale = mScaleAnimator.floatUpdate();
+			if (scale != null && scale.isRunning()) {
+				mChartScale = scale.floatUpdate(frameTimeMillis);
+			}
+			
+			// The last update ends the transition through the listener
+			if (transition != null && transition.isRunning()) {
+				setTransitionProgress(transition.floatUpdate(frameTimeMillis));
+			}
+		}
+		
+		/**
+		 * Frees the offscreen bitmaps the chart settings no longer use
+		 */
+		private void releaseUnusedBitmaps() {
+			
+			if (mDrawingCacheMode == CACHE_MODE_NONE && mDrawingCache != null) {
+				mDrawingCache.recycle();
+				mDrawingCache = null;
+				mDrawingCacheCanvas = null;
+			}
+			
+			if ((!mRotationLayerEnabled || mHost != null) && mRotationLayer != null) {
+				mRotationLayer.recycle();
+				mRotationLayer = null;
+				mRotationLayerCanvas = null;
 			}
 		}
 
@@ -999,46 +2316,129 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 			}
 		}
 
+		private boolean needsDrawingCache() {
+			return mDrawingCacheMode == CACHE_MODE_REUSED && mDrawingCacheDirty;
+		}
+
 		private void buildDrawingCache() {
 			
-			if (mDrawingCache == null) {
-				mDrawingCache = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
+			final ChartSnapshot snapshot = mSnapshot;
+			final int width = snapshot.getWidth();
+			final int height = snapshot.getHeight();
+			
+			if (width == 0 || height == 0) {
+				
+				// Wait for surfaceChanged to invalidate it again
+				mDrawingCacheDirty = false;
+				return;
+			}
+			
+			// Only reallocate when the view size changed
+			if (mDrawingCache == null
+					|| mDrawingCache.getWidth() != width
+					|| mDrawingCache.getHeight() != height) {
+				
+				if (mDrawingCache != null) {
+					mDrawingCache.recycle();
+				}
+				
+				mDrawingCache = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+				mDrawingCacheCanvas = new Canvas(mDrawingCache);
+			} else {
+				mDrawingCache.eraseColor(Color.TRANSPARENT);
 			}
 			
-			Canvas cache = new Canvas(mDrawingCache);
-	    	doDraw(cache, mRotationDegree, mChartScale, mShowInfo);
+			mDrawingCacheDirty = false;
+			doDraw(mDrawingCacheCanvas, snapshot, mRotationDegree, mChartScale, mShowInfo);
+			
+			final RenderMetrics metrics = mRenderMetrics;
+			if (metrics != null) {
+				metrics.onCacheRebuilt();
+			}
 		}
 
 
 		public void doDraw(Canvas canvas) {
-			doDraw(canvas, mRotationDegree, mChartScale, mShowInfo);
+			doDraw(canvas, mSnapshot, mRotationDegree, mChartScale, mShowInfo);
 		}
 
-		private void doDraw(Canvas canvas, float rotationDegree, float scale, boolean showInfo) {
+		private void doDraw(Canvas canvas, ChartSnapshot snapshot, float rotationDegree, float scale, boolean showInfo) {
 			
-			if (canvas == null || mAdapter == null) return;
+			if (canvas == null || snapshot.size() == 0) return;
+			
+			// Recompute the angles only when a new snapshot or progress arrived
+			if (mPainter.update(snapshot, mTransitionProgress)) {
+				mRotationLayerDirty = true;
+			}
 			
 			if (scale != 0) {
 				
+				final float centerX = snapshot.getCenterX();
+				final float centerY = snapshot.getCenterY();
+				
 				// Scale and rotate the canvas
 				canvas.save();
-				canvas.scale(scale, scale, mCenter.x, mCenter.y);
-				canvas.rotate(rotationDegree, mCenter.x, mCenter.y);
-		    	canvas.translate(getPaddingLeft(), getPaddingTop());
+				canvas.scale(scale, scale, centerX, centerY);
+				canvas.rotate(rotationDegree, centerX, centerY);
+		    	canvas.translate(snapshot.getPaddingLeft(), snapshot.getPaddingTop());
 		    	
-		    	// Draw a background circle
-				canvas.drawCircle(mCenter.x, mCenter.y, getChartRadius() + mStrokeWidth, mPaint);
-		    	
-				// Draw all of the pie slices
-				synchronized (mDrawables) {
-			        for (PieSliceDrawable slice : mDrawables) {
-			        	slice.draw(canvas);
-			        }
+				if (mRotationLayerEnabled && mHost == null && prepareRotationLayer(snapshot)) {
+					
+					// Rotating frames are a single blit of the static pie
+					float half = mRotationLayer.getWidth() / 2f;
+					canvas.drawBitmap(mRotationLayer, centerX - half, centerY - half, mRotationLayerPaint);
+					
+				} else {
+					drawChart(canvas, snapshot);
 				}
 		        
 		        canvas.restore();
 			}
 		}
+		
+		private void drawChart(Canvas canvas, ChartSnapshot snapshot) {
+			mPainter.draw(canvas, snapshot, mBatchedRenderingEnabled);
+		}
+		
+		/**
+		 * Makes sure the rotation layer is allocated for the current chart size
+		 * and holds the current slices.
+		 * 
+		 * @return false if the chart has no size yet
+		 */
+		private boolean prepareRotationLayer(ChartSnapshot snapshot) {
+			
+			// Room for the background circle and its anti aliased edge
+			int size = (int) Math.ceil(snapshot.getChartDiameter() + snapshot.getStrokeWidth() * 2) + 2;
+			
+			if (snapshot.getChartDiameter() <= 0) return false;
+			
+			if (mRotationLayer == null || mRotationLayer.getWidth() != size) {
+				
+				if (mRotationLayer != null) {
+					mRotationLayer.recycle();
+				}
+				
+				mRotationLayer = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+				mRotationLayerCanvas = new Canvas(mRotationLayer);
+				mRotationLayerDirty = true;
+			}
+			
+			if (mRotationLayerDirty) {
+				
+				mRotationLayerDirty = false;
+				mRotationLayer.eraseColor(Color.TRANSPARENT);
+				
+				// Move the chart center to the center of the layer
+				float half = size / 2f;
+				mRotationLayerCanvas.save();
+				mRotationLayerCanvas.translate(half - snapshot.getCenterX(), half - snapshot.getCenterY());
+				drawChart(mRotationLayerCanvas, snapshot);
+				mRotationLayerCanvas.restore();
+			}
+			
+			return true;
+		}
 	}
 	
 	/**
@@ -1046,6 +2446,12 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 	 */
 	
 	public interface OnPieChartChangeListener {
+		
+		/**
+		 * @param index The slice index, which is not the adapter position when
+		 * small slices are aggregated, see {@link PieChartView#getPositionForIndex(int)}.
+		 * Item clicks report adapter positions.
+		 */
 		public void onSelectionChanged(int index);
 	}
 	
@@ -1062,12 +2468,65 @@ public class PieChartView extends SurfaceView implements SurfaceHolder.Callback
 		public void onPieChartReady();
 	}
 	
+	public interface OnFrameMetricsListener {
+		public void onFrameMetrics(RenderMetrics metrics);
+	}
+	
+	class AdapterItemObserver extends PieChartDataObserver {
+		
+		@Override
+		public void onItemRangeChanged(int positionStart, int itemCount) {
+			
+			// Slices not built yet are created from the adapter on the next frame
+			if (!isLoaded()) return;
+			
+			// Folded slices do not map to positions, rebuild them instead
+			if (isAggregating()) {
+				resetChart();
+				return;
+			}
+			
+			updateSlices(positionStart, itemCount);
+		}
+		
+		@Override
+		public void onItemRangeInserted(int positionStart, int itemCount) {
+			
+			if (!isLoaded()) return;
+			
+			if (isAggregating()) {
+				resetChart();
+				return;
+			}
+			
+			insertSlices(positionStart, itemCount);
+		}
+		
+		@Override
+		public void onItemRangeRemoved(int positionStart, int itemCount) {
+			
+			if (!isLoaded()) return;
+			
+			if (isAggregating()) {
+				resetChart();
+				return;
+			}
+			
+			removeSlices(positionStart, itemCount);
+		}
+	}
+	
 	class AdapterDataSetObserver extends DataSetObserver {
 
 		private Parcelable mInstanceState = null;
 
 		@Override
 		public void onChanged() {
+			
+			if (mDataTransitionsEnabled && isLoaded() && !isAggregating()) {
+				startDataTransition();
+				return;
+			}
 
 			if (mChartScale != 0f) {
 				mNeedsUpdate = true;
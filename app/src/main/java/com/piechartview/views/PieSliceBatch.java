@@ -0,0 +1,195 @@
+package com.piechartview.views;
+
+import java.util.ArrayList;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.util.SparseIntArray;
+
+/**
+ * Draws a whole chart with one path per slice color and a single drawLines
+ * call for all separators, instead of three draw calls per slice. Runs of
+ * slices narrower than a pixel of arc are merged into one wedge. The geometry
+ * is built once per frame geometry change and reused for every frame.
+ */
+class PieSliceBatch {
+
+	private final ArrayList<Path> mPaths = new ArrayList<Path>();
+	private int[] mGroupColors = new int[16];
+	private int mGroupCount;
+	private final SparseIntArray mGroupByColor = new SparseIntArray();
+
+	private float[] mLines = new float[64];
+	private int mLineCount;
+
+	private final RectF mOval = new RectF();
+	private final Paint mPaint;
+	private final Paint mStrokePaint;
+	private int mOtherColor = Color.LTGRAY;
+	private boolean mDirty = true;
+
+	private float mRunStart;
+	private float mRunSweep;
+
+	public PieSliceBatch() {
+
+		mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+		mStrokePaint = new Paint(mPaint);
+		mStrokePaint.setStyle(Paint.Style.STROKE);
+		mStrokePaint.setColor(Color.WHITE);
+	}
+
+	public void setOtherColor(int color) {
+		mOtherColor = color;
+		mDirty = true;
+	}
+
+	public void invalidate() {
+		mDirty = true;
+	}
+
+	public boolean isDirty() {
+		return mDirty;
+	}
+
+	/**
+	 * Rebuilds the batched geometry from the slices of a frame
+	 */
+	public void build(SliceFrame frame) {
+
+		for (int i = 0; i < mGroupCount; i++) {
+			mPaths.get(i).rewind();
+		}
+
+		mGroupCount = 0;
+		mGroupByColor.clear();
+		mLineCount = 0;
+		mRunSweep = 0;
+		mDirty = false;
+
+		if (frame.size() == 0) return;
+
+		mOval.set(frame.getOval());
+		mStrokePaint.setStrokeWidth(frame.getStrokeWidth());
+
+		final float radius = mOval.width() / 2;
+		if (radius <= 0) return;
+
+		// Anything narrower than one pixel of arc is not visible on its own
+		final float minSweep = (float) Math.toDegrees(1f / radius);
+
+		ensureLineCapacity(frame.size() + 1);
+
+		float end = 0;
+
+		for (int i = 0; i < frame.size(); i++) {
+
+			final float start = frame.getStartAngle(i);
+			final float sweep = frame.getSweep(i);
+
+			end = start + sweep;
+
+			if (sweep < minSweep) {
+
+				if (mRunSweep == 0) {
+					mRunStart = start;
+				}
+
+				mRunSweep += sweep;
+				continue;
+			}
+
+			addRun();
+			addWedge(frame.getColor(i), start, sweep);
+		}
+
+		addRun();
+		addLine(end);
+	}
+
+	public void draw(Canvas canvas) {
+
+		for (int i = 0; i < mGroupCount; i++) {
+			mPaint.setColor(mGroupColors[i]);
+			canvas.drawPath(mPaths.get(i), mPaint);
+		}
+
+		canvas.drawLines(mLines, 0, mLineCount * 4, mStrokePaint);
+	}
+
+	/**
+	 * Emits the pending run of sub pixel slices as one wedge
+	 */
+	private void addRun() {
+
+		if (mRunSweep == 0) return;
+
+		addWedge(mOtherColor, mRunStart, mRunSweep);
+		mRunSweep = 0;
+	}
+
+	private void addWedge(int color, float start, float sweep) {
+
+		final Path path = getGroupPath(color);
+
+		if (sweep >= 360) {
+			path.addOval(mOval, Path.Direction.CW);
+		} else {
+			path.moveTo(mOval.centerX(), mOval.centerY());
+			path.arcTo(mOval, start, sweep, false);
+			path.close();
+		}
+
+		addLine(start);
+	}
+
+	private void addLine(float degree) {
+
+		final double radians = Math.toRadians(degree);
+		final float radius = mOval.width() / 2;
+		final int index = mLineCount * 4;
+
+		mLines[index] = mOval.centerX();
+		mLines[index + 1] = mOval.centerY();
+		mLines[index + 2] = mOval.centerX() + (float) (radius * Math.cos(radians));
+		mLines[index + 3] = mOval.centerY() + (float) (radius * Math.sin(radians));
+
+		mLineCount++;
+	}
+
+	private Path getGroupPath(int color) {
+
+		int group = mGroupByColor.get(color, -1);
+
+		if (group == -1) {
+
+			group = mGroupCount++;
+			mGroupByColor.put(color, group);
+
+			if (group == mGroupColors.length) {
+				int[] colors = new int[mGroupColors.length * 2];
+				System.arraycopy(mGroupColors, 0, colors, 0, group);
+				mGroupColors = colors;
+			}
+
+			if (group == mPaths.size()) {
+				mPaths.add(new Path());
+			}
+
+			mGroupColors[group] = color;
+		}
+
+		return mPaths.get(group);
+	}
+
+	private void ensureLineCapacity(int lines) {
+
+		if (mLines.length < lines * 4) {
+			mLines = new float[lines * 4];
+		}
+	}
+}
@@ -20,6 +20,8 @@ public class PieSliceDrawable extends Drawable {
     
 	private float mDegreeOffset;
 	private float mPercent;
+	private long mItemId;
+	private int mPosition;
 	private RectF mBounds = new RectF();
 
 	private Paint mPaint, mStrokePaint;
@@ -38,6 +40,29 @@ public class PieSliceDrawable extends Drawable {
 		this.mDegreeOffset = mDegreeOffset;
 	}
 
+	/**
+	 * Returns the adapter id of the item this slice was last bound to
+	 */
+	public long getItemId() {
+		return mItemId;
+	}
+	
+	void setItemId(long itemId) {
+		mItemId = itemId;
+	}
+	
+	/**
+	 * Returns the adapter position this slice shows, or
+	 * {@link PieChartView#OTHER_POSITION} for the aggregated slice
+	 */
+	public int getPosition() {
+		return mPosition;
+	}
+	
+	void setPosition(int position) {
+		mPosition = position;
+	}
+
 	public float getPercent() {
 		return mPercent;
 	}
@@ -103,6 +128,9 @@ public class PieSliceDrawable extends Drawable {
 		mStrokePaint.setStyle(Paint.Style.STROKE);
 		mStrokePaint.setStrokeWidth(mStrokeWidth);
 		mStrokePaint.setColor(Color.WHITE);
+		
+		mPathRight = new Path();
+		mPathLeft = new Path();
 	}
 	
 	@Override
@@ -124,25 +152,26 @@ public class PieSliceDrawable extends Drawable {
 		float x = (float) (radius * Math.cos(radians));
 		float y = (float) (radius * Math.sin(radians));
 		
-		mPathRight = createPath(x, y);
+		setPath(mPathRight, x, y);
 		
 		radians = Math.toRadians(mDegreeOffset);
 		x = (float) (radius * Math.cos(radians));
 		y = (float) (radius * Math.sin(radians));
 		
-		mPathLeft = createPath(x, y);
+		setPath(mPathLeft, x, y);
 		
 		invalidateSelf();
 	}
 	
-	private Path createPath(float x, float y) {
+	/**
+	 * Rewinds the path to a line from the center, reusing its storage
+	 */
+	private void setPath(Path path, float x, float y) {
 
-		Path path = new Path();
+		path.rewind();
 		path.moveTo(mBounds.centerX(), mBounds.centerY());
 		path.lineTo(mBounds.centerX() + x, mBounds.centerY() + y);
 		path.close();
-		
-		return path;
 	}
 
 	@Override
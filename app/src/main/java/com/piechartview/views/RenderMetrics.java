@@ -0,0 +1,143 @@
+package com.piechartview.views;
+
+import com.piechartview.core.RollingPercentiles;
+
+/**
+ * Timings of the last frame drawn by a {@link PieChartView} plus running
+ * counters, see {@link PieChartView#setOnFrameMetricsListener}. A single
+ * instance is updated in place on the draw thread, read it from the listener
+ * and copy out anything that has to outlive the call.
+ */
+public final class RenderMetrics {
+
+	/** Number of recent frames the percentiles cover */
+	public static final int WINDOW = 120;
+
+	private long mFrameTimeNanos;
+	private long mLockCanvasNanos;
+	private long mAnimateNanos;
+	private long mDrawNanos;
+	private long mPostNanos;
+	private long mFrameNanos;
+
+	private long mFrameCount;
+	private volatile long mMissedFrameCount;
+	private long mCacheRebuildCount;
+	private volatile long mSliceRebuildCount;
+
+	private final RollingPercentiles mFramePercentiles = new RollingPercentiles(WINDOW);
+
+	RenderMetrics() {}
+
+	/**
+	 * Records one frame from the timestamps taken around each step
+	 */
+	void recordFrame(long frameTimeNanos, long start, long locked, long animated, long drawn, long posted) {
+
+		mFrameTimeNanos = frameTimeNanos;
+		mLockCanvasNanos = locked - start;
+		mAnimateNanos = animated - locked;
+		mDrawNanos = drawn - animated;
+		mPostNanos = posted - drawn;
+		mFrameNanos = posted - start;
+
+		mFrameCount++;
+		mFramePercentiles.add(mFrameNanos);
+	}
+
+	/**
+	 * Called on the UI thread when a vsync replaces a frame not drawn yet
+	 */
+	void onFrameMissed() {
+		mMissedFrameCount++;
+	}
+
+	void onCacheRebuilt() {
+		mCacheRebuildCount++;
+	}
+
+	/**
+	 * Called on the UI thread, which is the only writer of this counter
+	 */
+	void onSlicesRebuilt() {
+		mSliceRebuildCount++;
+	}
+
+	/**
+	 * Returns the vsync timestamp the last frame was drawn for
+	 */
+	public long getFrameTimeNanos() {
+		return mFrameTimeNanos;
+	}
+
+	/**
+	 * Returns the time spent waiting in lockCanvas for a buffer
+	 */
+	public long getLockCanvasNanos() {
+		return mLockCanvasNanos;
+	}
+
+	/**
+	 * Returns the time spent advancing the animators
+	 */
+	public long getAnimateNanos() {
+		return mAnimateNanos;
+	}
+
+	/**
+	 * Returns the time spent drawing the chart
+	 */
+	public long getDrawNanos() {
+		return mDrawNanos;
+	}
+
+	/**
+	 * Returns the time spent in unlockCanvasAndPost
+	 */
+	public long getPostNanos() {
+		return mPostNanos;
+	}
+
+	/**
+	 * Returns the total time of the last frame, from lockCanvas to post
+	 */
+	public long getFrameNanos() {
+		return mFrameNanos;
+	}
+
+	/**
+	 * Returns the given percentile of the total frame time over the last
+	 * {@link #WINDOW} frames
+	 *
+	 * @param percentile Between 0 and 100
+	 */
+	public long getFramePercentileNanos(float percentile) {
+		return mFramePercentiles.getPercentile(percentile);
+	}
+
+	public long getFrameCount() {
+		return mFrameCount;
+	}
+
+	/**
+	 * Returns the number of vsyncs that went by without a frame because the
+	 * draw thread was still busy with the previous one
+	 */
+	public long getMissedFrameCount() {
+		return mMissedFrameCount;
+	}
+
+	/**
+	 * Returns the number of times the drawing cache bitmap was redrawn
+	 */
+	public long getCacheRebuildCount() {
+		return mCacheRebuildCount;
+	}
+
+	/**
+	 * Returns the number of times the slices were rebuilt from the adapter
+	 */
+	public long getSliceRebuildCount() {
+		return mSliceRebuildCount;
+	}
+}
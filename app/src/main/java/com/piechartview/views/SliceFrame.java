@@ -0,0 +1,132 @@
+package com.piechartview.views;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+/**
+ * The slice angles and separator lines of the frame being drawn, filled from
+ * a {@link ChartSnapshot}. Owned by the draw thread, so it can be updated in
+ * place without copying while the UI thread publishes the next snapshot. The
+ * geometry is only recomputed when the snapshot or transition progress change.
+ */
+class SliceFrame {
+
+	private float[] mStartAngles = new float[16];
+	private float[] mSweeps = new float[16];
+	private float[] mEdges = new float[128];
+
+	private ChartSnapshot mSnapshot;
+	private float mProgress;
+	private int mCount;
+
+	private final RectF mOval = new RectF();
+	private final Paint mPaint;
+	private final Paint mStrokePaint;
+
+	public SliceFrame() {
+
+		mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+		mStrokePaint = new Paint(mPaint);
+		mStrokePaint.setStyle(Paint.Style.STROKE);
+		mStrokePaint.setColor(Color.WHITE);
+	}
+
+	/**
+	 * Brings the frame up to date with the snapshot
+	 *
+	 * @param progress Data transition progress, ignored for charts at rest
+	 * @return true if the slice geometry changed
+	 */
+	public boolean update(ChartSnapshot snapshot, float progress) {
+
+		if (!snapshot.isTransition()) progress = 1;
+
+		if (snapshot == mSnapshot && progress == mProgress) return false;
+
+		mSnapshot = snapshot;
+		mProgress = progress;
+		mCount = snapshot.size();
+
+		ensureCapacity(mCount);
+		snapshot.getAngles(progress, mStartAngles, mSweeps);
+
+		final float stroke = snapshot.getSliceStrokeWidth();
+		final float left = (int) (snapshot.getCenterX() - snapshot.getChartRadius());
+		final float top = (int) (snapshot.getCenterY() - snapshot.getChartRadius());
+		final int diameter = snapshot.getChartDiameter();
+
+		mOval.set(left + stroke, top + stroke, left + diameter - stroke, top + diameter - stroke);
+		mStrokePaint.setStrokeWidth(stroke);
+
+		// Both edges of every slice, as PieSliceDrawable draws them
+		for (int i = 0; i < mCount; i++) {
+			setEdge(i * 8, mStartAngles[i] + mSweeps[i]);
+			setEdge(i * 8 + 4, mStartAngles[i]);
+		}
+
+		return true;
+	}
+
+	private void setEdge(int index, float degree) {
+
+		final double radians = Math.toRadians(degree);
+		final float radius = mOval.width() / 2;
+
+		mEdges[index] = mOval.centerX();
+		mEdges[index + 1] = mOval.centerY();
+		mEdges[index + 2] = mOval.centerX() + (float) (radius * Math.cos(radians));
+		mEdges[index + 3] = mOval.centerY() + (float) (radius * Math.sin(radians));
+	}
+
+	public int size() {
+		return mCount;
+	}
+
+	public float getStartAngle(int index) {
+		return mStartAngles[index];
+	}
+
+	public float getSweep(int index) {
+		return mSweeps[index];
+	}
+
+	public int getColor(int index) {
+		return mSnapshot.getColor(index);
+	}
+
+	public float getStrokeWidth() {
+		return mSnapshot.getSliceStrokeWidth();
+	}
+
+	/**
+	 * Returns the oval the slices are drawn in, inset by the slice stroke
+	 */
+	public RectF getOval() {
+		return mOval;
+	}
+
+	/**
+	 * Draws every slice with its separator lines
+	 */
+	public void draw(Canvas canvas) {
+
+		for (int i = 0; i < mCount; i++) {
+
+			mPaint.setColor(mSnapshot.getColor(i));
+			canvas.drawArc(mOval, mStartAngles[i], mSweeps[i], true, mPaint);
+			canvas.drawLines(mEdges, i * 8, 8, mStrokePaint);
+		}
+	}
+
+	private void ensureCapacity(int count) {
+
+		if (mStartAngles.length >= count) return;
+
+		mStartAngles = new float[count];
+		mSweeps = new float[count];
+		mEdges = new float[count * 8];
+	}
+}
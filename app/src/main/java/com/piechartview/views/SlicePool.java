@@ -0,0 +1,134 @@
+package com.piechartview.views;
+
+import java.util.ArrayDeque;
+
+import android.content.ComponentCallbacks2;
+
+/**
+ * Bounded pool of the drawables a {@link PieChartView} hands to its adapter as
+ * convert drawables while binding slices. The chart copies each bound slice
+ * into its slice store and returns the drawable right away, so the pool
+ * normally holds a single drawable. Drawables released while the pool is full
+ * are dropped for the garbage collector, and the pool empties on memory
+ * pressure. Only used on the UI thread, see {@link PieChartView#getSlicePool()}.
+ */
+public final class SlicePool {
+
+	/** Default maximum number of idle slices kept */
+	public static final int DEFAULT_MAX_SIZE = 64;
+
+	private final ArrayDeque<PieSliceDrawable> mSlices = new ArrayDeque<PieSliceDrawable>();
+	private int mMaxSize = DEFAULT_MAX_SIZE;
+
+	private long mHitCount;
+	private long mMissCount;
+	private long mDropCount;
+
+	SlicePool() {}
+
+	/**
+	 * Returns an idle slice, or null if the pool is empty
+	 */
+	PieSliceDrawable acquire() {
+
+		final PieSliceDrawable slice = mSlices.pollFirst();
+
+		if (slice != null) {
+			mHitCount++;
+		} else {
+			mMissCount++;
+		}
+
+		return slice;
+	}
+
+	/**
+	 * Keeps the slice for reuse, or drops it if the pool is full
+	 */
+	void release(PieSliceDrawable slice) {
+
+		if (mSlices.size() < mMaxSize) {
+			mSlices.addLast(slice);
+		} else {
+			mDropCount++;
+		}
+	}
+
+	/**
+	 * Shrinks the pool to the memory level reported by the system, emptying it
+	 * once the app is in the background or memory runs critically low
+	 */
+	void onTrimMemory(int level) {
+
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+				|| level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+			clear();
+		} else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+			trimToSize(mSlices.size() / 2);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of idle slices kept, dropping any above it
+	 *
+	 * @param maxSize 0 to disable pooling
+	 */
+	public void setMaxSize(int maxSize) {
+
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("maxSize must not be negative, was " + maxSize);
+		}
+
+		mMaxSize = maxSize;
+		trimToSize(maxSize);
+	}
+
+	public int getMaxSize() {
+		return mMaxSize;
+	}
+
+	/**
+	 * Drops idle slices until at most size are left
+	 */
+	public void trimToSize(int size) {
+
+		while (mSlices.size() > size) {
+			mSlices.pollLast();
+			mDropCount++;
+		}
+	}
+
+	public void clear() {
+		trimToSize(0);
+	}
+
+	/**
+	 * Returns the number of idle slices held
+	 */
+	public int size() {
+		return mSlices.size();
+	}
+
+	/**
+	 * Returns the number of requests served from the pool
+	 */
+	public long getHitCount() {
+		return mHitCount;
+	}
+
+	/**
+	 * Returns the number of requests that found the pool empty, the adapter
+	 * created a new slice for each of them
+	 */
+	public long getMissCount() {
+		return mMissCount;
+	}
+
+	/**
+	 * Returns the number of slices dropped because the pool was full or
+	 * trimmed
+	 */
+	public long getDropCount() {
+		return mDropCount;
+	}
+}
@@ -0,0 +1,240 @@
+package com.piechartview.views;
+
+/**
+ * The slices of a chart as parallel primitive arrays, one entry per slice
+ * instead of one PieSliceDrawable with its own paints and paths. About 24
+ * bytes a slice. Adapters still bind their slices through a PieSliceDrawable,
+ * which the chart copies into the store and reuses for the next slice.
+ * Only used on the UI thread.
+ */
+final class SliceStore {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private float[] mPercents = new float[MIN_CAPACITY];
+	private float[] mOffsets = new float[MIN_CAPACITY];
+	private int[] mColors = new int[MIN_CAPACITY];
+	private int[] mPositions = new int[MIN_CAPACITY];
+	private long[] mItemIds = new long[MIN_CAPACITY];
+	private int mCount;
+	private float mStrokeWidth;
+
+	public int size() {
+		return mCount;
+	}
+
+	/**
+	 * Returns the number of slices the arrays hold before they grow
+	 */
+	int capacity() {
+		return mPercents.length;
+	}
+
+	public float getPercent(int index) {
+		return mPercents[index];
+	}
+
+	public float getDegrees(int index) {
+		return mPercents[index] * 360;
+	}
+
+	/**
+	 * Returns the start angle of the slice, see {@link #updateOffsets(int)}
+	 */
+	public float getDegreeOffset(int index) {
+		return mOffsets[index];
+	}
+
+	public float getEndDegree(int index) {
+		return mOffsets[index] + getDegrees(index);
+	}
+
+	public float getSliceCenter(int index) {
+		return mOffsets[index] + getDegrees(index) / 2;
+	}
+
+	public int getColor(int index) {
+		return mColors[index];
+	}
+
+	public int getPosition(int index) {
+		return mPositions[index];
+	}
+
+	public long getItemId(int index) {
+		return mItemIds[index];
+	}
+
+	/**
+	 * Returns the separator stroke shared by every slice
+	 */
+	public float getStrokeWidth() {
+		return mStrokeWidth;
+	}
+
+	public void setStrokeWidth(float strokeWidth) {
+		mStrokeWidth = strokeWidth;
+	}
+
+	public void setPercent(int index, float percent) {
+		mPercents[index] = percent;
+	}
+
+	public void setColor(int index, int color) {
+		mColors[index] = color;
+	}
+
+	/**
+	 * Sets every field of a slice, index may be {@link #size()} to append
+	 */
+	public void set(int index, float percent, int color, long itemId, int position) {
+
+		if (index == mCount) {
+			ensureCapacity(mCount + 1);
+			mCount++;
+		}
+
+		mPercents[index] = percent;
+		mColors[index] = color;
+		mItemIds[index] = itemId;
+		mPositions[index] = position;
+	}
+
+	public void add(float percent, int color, long itemId, int position) {
+		set(mCount, percent, color, itemId, position);
+	}
+
+	/**
+	 * Copies the slice at from over the slice at to
+	 */
+	public void copy(int from, int to) {
+
+		mPercents[to] = mPercents[from];
+		mOffsets[to] = mOffsets[from];
+		mColors[to] = mColors[from];
+		mItemIds[to] = mItemIds[from];
+		mPositions[to] = mPositions[from];
+	}
+
+	/**
+	 * Copies every slice of the other store into this one
+	 */
+	public void copyFrom(SliceStore other) {
+
+		clear();
+		ensureCapacity(other.mCount);
+
+		System.arraycopy(other.mPercents, 0, mPercents, 0, other.mCount);
+		System.arraycopy(other.mOffsets, 0, mOffsets, 0, other.mCount);
+		System.arraycopy(other.mColors, 0, mColors, 0, other.mCount);
+		System.arraycopy(other.mItemIds, 0, mItemIds, 0, other.mCount);
+		System.arraycopy(other.mPositions, 0, mPositions, 0, other.mCount);
+
+		mCount = other.mCount;
+		mStrokeWidth = other.mStrokeWidth;
+	}
+
+	/**
+	 * Opens a gap of count slices at index, to be filled with set
+	 */
+	public void insert(int index, int count) {
+
+		ensureCapacity(mCount + count);
+
+		final int tail = mCount - index;
+
+		System.arraycopy(mPercents, index, mPercents, index + count, tail);
+		System.arraycopy(mOffsets, index, mOffsets, index + count, tail);
+		System.arraycopy(mColors, index, mColors, index + count, tail);
+		System.arraycopy(mItemIds, index, mItemIds, index + count, tail);
+		System.arraycopy(mPositions, index, mPositions, index + count, tail);
+
+		mCount += count;
+	}
+
+	public void remove(int index, int count) {
+
+		final int tail = mCount - index - count;
+
+		System.arraycopy(mPercents, index + count, mPercents, index, tail);
+		System.arraycopy(mOffsets, index + count, mOffsets, index, tail);
+		System.arraycopy(mColors, index + count, mColors, index, tail);
+		System.arraycopy(mItemIds, index + count, mItemIds, index, tail);
+		System.arraycopy(mPositions, index + count, mPositions, index, tail);
+
+		mCount -= count;
+	}
+
+	/**
+	 * Drops every slice from size on
+	 */
+	public void setSize(int size) {
+		mCount = size;
+	}
+
+	public void clear() {
+		mCount = 0;
+	}
+
+	/**
+	 * Lays the slices from index on out after their predecessor
+	 */
+	public void updateOffsets(int index) {
+
+		float offset = index > 0 ? getEndDegree(index - 1) : 0;
+
+		for (int i = index; i < mCount; i++) {
+			mOffsets[i] = offset;
+			offset += getDegrees(i);
+		}
+	}
+
+	/**
+	 * Sets the adapter position of the slices from index on to their index,
+	 * for charts without aggregation
+	 */
+	public void updatePositions(int index) {
+
+		for (int i = index; i < mCount; i++) {
+			mPositions[i] = i;
+		}
+	}
+
+	/**
+	 * Releases the arrays if the chart shrank to well below their size
+	 */
+	public void trimToSize() {
+
+		if (mPercents.length <= MIN_CAPACITY || mPercents.length <= mCount * 2) return;
+
+		resize(Math.max(mCount, MIN_CAPACITY));
+	}
+
+	private void ensureCapacity(int capacity) {
+
+		if (mPercents.length >= capacity) return;
+
+		resize(Math.max(capacity, mPercents.length * 2));
+	}
+
+	private void resize(int capacity) {
+
+		final float[] percents = new float[capacity];
+		final float[] offsets = new float[capacity];
+		final int[] colors = new int[capacity];
+		final long[] itemIds = new long[capacity];
+		final int[] positions = new int[capacity];
+
+		System.arraycopy(mPercents, 0, percents, 0, mCount);
+		System.arraycopy(mOffsets, 0, offsets, 0, mCount);
+		System.arraycopy(mColors, 0, colors, 0, mCount);
+		System.arraycopy(mItemIds, 0, itemIds, 0, mCount);
+		System.arraycopy(mPositions, 0, positions, 0, mCount);
+
+		mPercents = percents;
+		mOffsets = offsets;
+		mColors = colors;
+		mItemIds = itemIds;
+		mPositions = positions;
+	}
+}
@@ -0,0 +1,207 @@
+package com.piechartview.views;
+
+import android.util.LongSparseArray;
+
+import com.piechartview.adapter.BasePieChartAdapter;
+
+/**
+ * Tweens the slices of a chart from one adapter state to the next. Slices are
+ * matched by item id, so a slice keeps its place across updates, new items
+ * grow from zero and removed items shrink to zero in place. A transition
+ * begun while another runs starts from the percents the slices have then,
+ * slices still shrinking keep shrinking from there. All storage is
+ * reused between transitions and nothing is allocated per frame.
+ */
+class SliceTransition {
+
+	private static final int NO_MATCH = -1;
+
+	private float[] mFromPercents = new float[0];
+	private float[] mToPercents = new float[0];
+	private boolean[] mRemoved = new boolean[0];
+	private int[] mMatches = new int[0];
+	private int mCount;
+	private boolean mActive;
+
+	private final LongSparseArray<Integer> mPreviousById = new LongSparseArray<Integer>();
+	private final SliceStore mPrevious = new SliceStore();
+
+	public boolean isActive() {
+		return mActive;
+	}
+	
+	/**
+	 * Returns the number of slices taking part, including removed ones
+	 */
+	public int getCount() {
+		return mCount;
+	}
+	
+	public float getFromPercent(int index) {
+		return mFromPercents[index];
+	}
+	
+	public float getToPercent(int index) {
+		return mToPercents[index];
+	}
+
+	/**
+	 * Rebuilds the slices for the current adapter contents. Matching slices
+	 * keep their current percent, which becomes the start of the tween, so
+	 * apply the progress of a running transition first.
+	 *
+	 * @param parent The chart binding the new slices
+	 * @param adapter The adapter holding the new state
+	 * @param slices The current slices, replaced by the transition slices
+	 */
+	public void begin(PieChartView parent, BasePieChartAdapter adapter, SliceStore slices) {
+
+		final int newCount = adapter.getCount();
+
+		mPrevious.clear();
+		mPreviousById.clear();
+
+		for (int i = 0; i < slices.size(); i++) {
+
+			final long id = slices.getItemId(i);
+
+			mPreviousById.put(id, mPrevious.size());
+			mPrevious.add(slices.getPercent(i), slices.getColor(i), id, slices.getPosition(i));
+		}
+
+		ensureCapacity(newCount + mPrevious.size());
+
+		// Match the new items to the slices that showed them before
+		for (int i = 0; i < newCount; i++) {
+
+			final long id = adapter.getItemId(i);
+			final Integer match = mPreviousById.get(id);
+
+			mMatches[i] = match != null ? match : NO_MATCH;
+
+			if (match != null) {
+				mPreviousById.remove(id);
+			}
+		}
+
+		slices.clear();
+		mCount = 0;
+
+		int previous = 0;
+
+		for (int i = 0; i < newCount; i++) {
+
+			// Keep removed slices where they were, ahead of the next item
+			previous = addRemoved(slices, previous);
+
+			final int match = mMatches[i];
+			final float from = match != NO_MATCH ? mPrevious.getPercent(match) : 0;
+
+			if (match != NO_MATCH && previous == match) {
+				previous++;
+			}
+
+			parent.bindSlice(slices, mCount, i, 0);
+
+			mFromPercents[mCount] = from;
+			mToPercents[mCount] = slices.getPercent(mCount);
+			mRemoved[mCount] = false;
+			mCount++;
+		}
+
+		while (previous < mPrevious.size()) {
+			previous = addRemoved(slices, previous);
+
+			if (previous < mPrevious.size()) previous++;
+		}
+
+		mPrevious.clear();
+		mPreviousById.clear();
+		mActive = true;
+	}
+
+	/**
+	 * Appends the removed slices found at position in the previous slices
+	 *
+	 * @return The position of the first slice that was not removed
+	 */
+	private int addRemoved(SliceStore slices, int position) {
+
+		while (position < mPrevious.size()) {
+
+			final long id = mPrevious.getItemId(position);
+			final Integer index = mPreviousById.get(id);
+
+			if (index == null || index != position) break;
+
+			mFromPercents[mCount] = mPrevious.getPercent(position);
+			mToPercents[mCount] = 0;
+			mRemoved[mCount] = true;
+			mCount++;
+
+			slices.add(mPrevious.getPercent(position), mPrevious.getColor(position), id,
+					mPrevious.getPosition(position));
+			position++;
+		}
+
+		return position;
+	}
+
+	/**
+	 * Lays out the slices for the given progress of the transition
+	 *
+	 * @param progress 0 for the previous state, 1 for the new one
+	 */
+	public void apply(SliceStore slices, float progress) {
+
+		for (int i = 0; i < mCount; i++) {
+			slices.setPercent(i, mFromPercents[i] + (mToPercents[i] - mFromPercents[i]) * progress);
+		}
+
+		slices.updateOffsets(0);
+	}
+
+	/**
+	 * Snaps to the new state and drops the slices of removed items
+	 */
+	public void finish(SliceStore slices) {
+
+		if (!mActive) return;
+
+		apply(slices, 1);
+
+		int kept = 0;
+
+		for (int i = 0; i < mCount; i++) {
+
+			if (mRemoved[i]) continue;
+
+			if (kept != i) slices.copy(i, kept);
+			kept++;
+		}
+
+		slices.setSize(kept);
+		slices.updateOffsets(0);
+
+		mActive = false;
+		mCount = 0;
+	}
+
+	/**
+	 * Drops the transition state without touching the slices
+	 */
+	public void cancel() {
+		mActive = false;
+		mCount = 0;
+	}
+
+	private void ensureCapacity(int capacity) {
+
+		if (mFromPercents.length >= capacity) return;
+
+		mFromPercents = new float[capacity];
+		mToPercents = new float[capacity];
+		mRemoved = new boolean[capacity];
+		mMatches = new int[capacity];
+	}
+}
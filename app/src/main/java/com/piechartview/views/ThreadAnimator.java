@@ -1,80 +1,89 @@
 package com.piechartview.views;
 
-import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.AnimationUtils;
 import android.view.animation.Interpolator;
 
+import com.piechartview.core.FloatTween;
+
 public class ThreadAnimator {
 
 	private AnimationListener mAnimationListener;
 
-	private float mStart, mEnd, mChange;
-	private long mStartTime;
-	private long mDuration;
-	private Interpolator mInterpolator;
-	
-	private boolean mRunning = false;
+	private final FloatTween mTween = new FloatTween();
 	
 	public void setAnimationListener(AnimationListener mAnimationListener) {
 		this.mAnimationListener = mAnimationListener;
 	}
 	
 	public boolean isRunning()  {
-		return mRunning;
+		return mTween.isRunning();
 	}
 	
 	public void setDuration(long duration) {
-		mDuration = duration;
+		mTween.setDuration(duration);
 	}
 	
 	public long getDuration() {
-		return mDuration;
+		return mTween.getDuration();
 	}
 	
-	public void setInterpolator(Interpolator interpolator) {
-		mInterpolator = interpolator;
+	public void setInterpolator(final Interpolator interpolator) {
+		
+		mTween.setEasing(new FloatTween.Easing() {
+			
+			@Override
+			public float getInterpolation(float input) {
+				return interpolator.getInterpolation(input);
+			}
+		});
 	}
 	
 	public static ThreadAnimator ofFloat(float start, float end) {
 		
 		ThreadAnimator animator = new ThreadAnimator();
-		animator.mStart = start;
-		animator.mEnd = end;
-		animator.mChange = end - start;
+		animator.setFloatValues(start, end);
 		
 		return animator;
 	}
 	
+	/**
+	 * Changes the values so a single animator can be reused for every run
+	 */
+	public void setFloatValues(float start, float end) {
+		mTween.setFloatValues(start, end);
+	}
+	
 	public static ThreadAnimator ofInt(int start, int end) {
 		
 		return ofFloat(start, end);
 	}
 	
 	public ThreadAnimator() {
-		mInterpolator = new AccelerateDecelerateInterpolator();
-		mDuration = 1000;
+		mTween.setEasing(FloatTween.ACCELERATE_DECELERATE);
+		mTween.setDuration(1000);
 	}
 	
 	public float floatUpdate() {
+		return floatUpdate(AnimationUtils.currentAnimationTimeMillis());
+	}
+	
+	/**
+	 * Advances the animation to the given time, normally the timestamp of
+	 * the frame being drawn
+	 * 
+	 * @param now Time in the {@link AnimationUtils#currentAnimationTimeMillis()} base
+	 */
+	public float floatUpdate(long now) {
 		
-		if (!mRunning) return mEnd;
+		if (!mTween.isRunning()) return mTween.getEnd();
 		
-		float duration = AnimationUtils.currentAnimationTimeMillis() - mStartTime;
+		float value = mTween.update(now);
 		
-		if (duration >= mDuration) {
-			
-			mRunning = false;
-			
-			if (mAnimationListener != null) {
-				mAnimationListener.onAnimationEnded();
-			}
-			
-			return mEnd;
+		if (!mTween.isRunning() && mAnimationListener != null) {
+			mAnimationListener.onAnimationEnded();
 		}
 		
-		float progress = mInterpolator.getInterpolation(duration/mDuration);
-		
-		return mStart + mChange * progress;
+		return value;
 	}
 	
 	public int intUpdate() {
@@ -82,8 +91,14 @@ public class ThreadAnimator {
 	}
 	
 	public void start() {
-		mRunning = true;
-		mStartTime = AnimationUtils.currentAnimationTimeMillis();
+		mTween.start(AnimationUtils.currentAnimationTimeMillis());
+	}
+	
+	/**
+	 * Stops the animation without notifying the listener
+	 */
+	public void cancel() {
+		mTween.cancel();
 	}
 	
 	public interface AnimationListener {
@@ -0,0 +1,110 @@
+package com.piechartview.views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import com.piechartview.adapter.FloatArrayPieChartAdapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local test, runs the headless renderer under Robolectric.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PieChartRendererTest {
+
+    private Context mContext;
+    private FloatArrayPieChartAdapter mAdapter;
+    private PieChartRenderer mRenderer;
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        mAdapter = new FloatArrayPieChartAdapter(mContext, new float[] { 0.5f, 0.3f, 0.2f });
+        mRenderer = new PieChartRenderer(mContext);
+    }
+
+    @Test
+    public void render_reusesMatchingBitmap() {
+        Bitmap bitmap = Bitmap.createBitmap(64, 64, Bitmap.Config.ARGB_8888);
+
+        assertSame(bitmap, mRenderer.render(mAdapter, 64, 0, null, bitmap));
+        assertSame(bitmap, mRenderer.render(mAdapter, 64, 90, null, bitmap));
+    }
+
+    @Test
+    public void render_replacesBitmapOfOtherSize() {
+        Bitmap bitmap = Bitmap.createBitmap(32, 32, Bitmap.Config.ARGB_8888);
+
+        Bitmap result = mRenderer.render(mAdapter, 64, 0, null, bitmap);
+
+        assertNotSame(bitmap, result);
+        assertEquals(64, result.getWidth());
+        assertEquals(64, result.getHeight());
+    }
+
+    @Test
+    public void createSnapshot_copiesAdapterSlices() {
+        ChartSnapshot snapshot = mRenderer.createSnapshot(mAdapter, 64, 64, new PieChartRenderer.Style());
+
+        assertEquals(3, snapshot.size());
+        assertFalse(snapshot.isTransition());
+        assertSweeps(snapshot, 180, 108, 72);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(mAdapter.getSliceColor(i), snapshot.getColor(i));
+        }
+    }
+
+    @Test
+    public void createSnapshot_foldsSmallSlicesForStyle() {
+        PieChartRenderer.Style style = new PieChartRenderer.Style()
+                .setStrokeWidth(0)
+                .setOtherSliceColor(Color.MAGENTA)
+                .setSliceAggregation(30, 2);
+
+        ChartSnapshot snapshot = mRenderer.createSnapshot(mAdapter, 48, 32, style);
+
+        assertEquals(3, snapshot.size());
+        assertSweeps(snapshot, 180, 108, 72);
+        assertEquals(mAdapter.getSliceColor(0), snapshot.getColor(0));
+        assertEquals(mAdapter.getSliceColor(1), snapshot.getColor(1));
+        assertEquals(Color.MAGENTA, snapshot.getColor(2));
+        assertEquals(Color.MAGENTA, snapshot.getOtherColor());
+
+        assertEquals(32, snapshot.getChartDiameter());
+        assertEquals(24f, snapshot.getCenterX(), 0f);
+        assertEquals(16f, snapshot.getCenterY(), 0f);
+    }
+
+    @Test
+    public void createSnapshot_emptyAdapterHasNoSlices() {
+        FloatArrayPieChartAdapter empty = new FloatArrayPieChartAdapter(mContext, new float[0]);
+
+        ChartSnapshot snapshot = mRenderer.createSnapshot(empty, 48, 32,
+                new PieChartRenderer.Style().setSliceAggregation(30, 2));
+
+        assertEquals(0, snapshot.size());
+    }
+
+    private static void assertSweeps(ChartSnapshot snapshot, float... expected) {
+        float[] starts = new float[snapshot.size()];
+        float[] sweeps = new float[snapshot.size()];
+
+        snapshot.getAngles(1, starts, sweeps);
+
+        float start = 0;
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(start, starts[i], 0.01f);
+            assertEquals(expected[i], sweeps[i], 0.01f);
+            start += expected[i];
+        }
+    }
+}
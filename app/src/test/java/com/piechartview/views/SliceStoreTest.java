@@ -0,0 +1,91 @@
+package com.piechartview.views;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local test of the slice arrays.
+ */
+public class SliceStoreTest {
+
+    private SliceStore mStore;
+
+    @Before
+    public void setUp() {
+        mStore = new SliceStore();
+
+        for (int i = 0; i < 4; i++) {
+            mStore.add(0.25f, i, i, i);
+        }
+
+        mStore.updateOffsets(0);
+    }
+
+    @Test
+    public void insert_opensGapAndKeepsTail() {
+        mStore.insert(1, 2);
+        mStore.set(1, 0.1f, 10, 10, 1);
+        mStore.set(2, 0.2f, 20, 20, 2);
+        mStore.updatePositions(3);
+        mStore.updateOffsets(1);
+
+        assertEquals(6, mStore.size());
+        assertItemIds(0, 10, 20, 1, 2, 3);
+        assertEquals(3, mStore.getPosition(3));
+        assertEquals(5, mStore.getPosition(5));
+        assertEquals(90f, mStore.getDegreeOffset(1), 0.01f);
+        assertEquals(198f, mStore.getDegreeOffset(3), 0.01f);
+    }
+
+    @Test
+    public void insert_atEndGrowsArrays() {
+        mStore.insert(4, 40);
+
+        assertEquals(44, mStore.size());
+        assertTrue(mStore.capacity() >= 44);
+        assertEquals(3, mStore.getItemId(3));
+    }
+
+    @Test
+    public void remove_closesGap() {
+        mStore.remove(1, 2);
+        mStore.updatePositions(1);
+        mStore.updateOffsets(1);
+
+        assertEquals(2, mStore.size());
+        assertItemIds(0, 3);
+        assertEquals(1, mStore.getPosition(1));
+        assertEquals(90f, mStore.getDegreeOffset(1), 0.01f);
+    }
+
+    @Test
+    public void trimToSize_shrinksOnlyWellBelowCapacity() {
+        for (int i = 4; i < 100; i++) {
+            mStore.add(0.01f, i, i, i);
+        }
+
+        final int grown = mStore.capacity();
+
+        mStore.trimToSize();
+        assertEquals(grown, mStore.capacity());
+
+        mStore.remove(0, 90);
+        mStore.trimToSize();
+
+        assertEquals(16, mStore.capacity());
+        assertEquals(10, mStore.size());
+        assertEquals(90, mStore.getItemId(0));
+        assertEquals(99, mStore.getItemId(9));
+        assertEquals(99, mStore.getColor(9));
+    }
+
+    private void assertItemIds(long... ids) {
+        assertEquals(ids.length, mStore.size());
+
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], mStore.getItemId(i));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.piechartview.views;
+
+import com.piechartview.adapter.BasePieChartAdapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local test of the id matching, runs under Robolectric for the chart that
+ * binds the slices.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SliceTransitionTest {
+
+    private IdAdapter mAdapter;
+    private PieChartView mChart;
+    private SliceStore mSlices;
+    private SliceTransition mTransition;
+
+    @Before
+    public void setUp() {
+        mAdapter = new IdAdapter();
+        mAdapter.setItems(new long[] { 1, 2, 3 }, new float[] { 0.5f, 0.3f, 0.2f });
+
+        mChart = new PieChartView(RuntimeEnvironment.application);
+        mChart.setAdapter(mAdapter);
+
+        mSlices = new SliceStore();
+        for (int i = 0; i < mAdapter.getCount(); i++) {
+            mSlices.add(mAdapter.getPercent(i), (int) mAdapter.getItemId(i), mAdapter.getItemId(i), i);
+        }
+        mSlices.updateOffsets(0);
+
+        mTransition = new SliceTransition();
+    }
+
+    @Test
+    public void begin_insertGrowsNewItemFromZero() {
+        mAdapter.setItems(new long[] { 1, 4, 2, 3 }, new float[] { 0.4f, 0.2f, 0.2f, 0.2f });
+
+        begin();
+
+        assertItemIds(1, 4, 2, 3);
+        assertPercents(new float[] { 0.5f, 0, 0.3f, 0.2f }, new float[] { 0.4f, 0.2f, 0.2f, 0.2f });
+        assertPositions(0, 1, 2, 3);
+
+        // Progress 0 shows the previous state
+        mTransition.apply(mSlices, 0);
+        assertEquals(180f, mSlices.getDegreeOffset(2), 0.01f);
+        assertEquals(288f, mSlices.getDegreeOffset(3), 0.01f);
+    }
+
+    @Test
+    public void begin_removeShrinksItemInPlace() {
+        mAdapter.setItems(new long[] { 1, 3 }, new float[] { 0.6f, 0.4f });
+
+        begin();
+
+        assertItemIds(1, 2, 3);
+        assertPercents(new float[] { 0.5f, 0.3f, 0.2f }, new float[] { 0.6f, 0, 0.4f });
+
+        // The removed slice keeps its old position until finish drops it
+        assertPositions(0, 1, 1);
+    }
+
+    @Test
+    public void begin_reorderKeepsPercentsOfMatchedItems() {
+        mAdapter.setItems(new long[] { 3, 1, 2 }, new float[] { 0.2f, 0.5f, 0.3f });
+
+        begin();
+
+        assertItemIds(3, 1, 2);
+        assertPercents(new float[] { 0.2f, 0.5f, 0.3f }, new float[] { 0.2f, 0.5f, 0.3f });
+        assertPositions(0, 1, 2);
+    }
+
+    @Test
+    public void begin_backToBackKeepsShrinkingSlices() {
+        mAdapter.setItems(new long[] { 1, 3 }, new float[] { 0.6f, 0.4f });
+        begin();
+        mTransition.apply(mSlices, 0.5f);
+
+        // Interrupted half way, item 2 keeps shrinking from where it is
+        mAdapter.setItems(new long[] { 1, 3, 4 }, new float[] { 0.5f, 0.3f, 0.2f });
+        begin();
+
+        assertItemIds(1, 2, 3, 4);
+        assertPercents(new float[] { 0.55f, 0.15f, 0.3f, 0 }, new float[] { 0.5f, 0, 0.3f, 0.2f });
+    }
+
+    @Test
+    public void notifyDataSetChanged_midTransitionStartsFromShownPercents() {
+        mChart.setDataTransitionsEnabled(true);
+
+        // Binds the chart's slices
+        Robolectric.flushForegroundThreadScheduler();
+        assertTrue(mChart.isLoaded());
+
+        mAdapter.setItems(new long[] { 1, 3 }, new float[] { 0.6f, 0.4f });
+        mAdapter.notifyDataSetChanged();
+
+        // The draw thread got half way
+        mChart.setTransitionProgress(0.5f);
+
+        mAdapter.setItems(new long[] { 1, 3, 4 }, new float[] { 0.5f, 0.3f, 0.2f });
+        mAdapter.notifyDataSetChanged();
+
+        float[] shown = { 0.55f, 0.15f, 0.3f, 0 };
+
+        for (int i = 0; i < shown.length; i++) {
+            assertEquals(shown[i], mChart.getSlice(i).getPercent(), 0.0001f);
+        }
+
+        assertNull(mChart.getSlice(shown.length));
+    }
+
+    @Test
+    public void finish_compactsRemovedSlices() {
+        mAdapter.setItems(new long[] { 1, 3 }, new float[] { 0.6f, 0.4f });
+        begin();
+        mTransition.apply(mSlices, 0.5f);
+
+        mTransition.finish(mSlices);
+
+        assertFalse(mTransition.isActive());
+        assertItemIds(1, 3);
+        assertPositions(0, 1);
+        assertEquals(0.6f, mSlices.getPercent(0), 0.0001f);
+        assertEquals(0.4f, mSlices.getPercent(1), 0.0001f);
+        assertEquals(216f, mSlices.getDegreeOffset(1), 0.01f);
+    }
+
+    private void begin() {
+        mTransition.begin(mChart, mAdapter, mSlices);
+
+        assertTrue(mTransition.isActive());
+        assertEquals(mSlices.size(), mTransition.getCount());
+    }
+
+    private void assertItemIds(long... ids) {
+        assertEquals(ids.length, mSlices.size());
+
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], mSlices.getItemId(i));
+            assertEquals((int) ids[i], mSlices.getColor(i));
+        }
+    }
+
+    private void assertPositions(int... positions) {
+        for (int i = 0; i < positions.length; i++) {
+            assertEquals(positions[i], mSlices.getPosition(i));
+        }
+    }
+
+    private void assertPercents(float[] from, float[] to) {
+        assertEquals(from.length, mTransition.getCount());
+
+        for (int i = 0; i < from.length; i++) {
+            assertEquals(from[i], mTransition.getFromPercent(i), 0.0001f);
+            assertEquals(to[i], mTransition.getToPercent(i), 0.0001f);
+        }
+    }
+
+    /**
+     * Items with explicit ids, colored by id so slices can be told apart
+     */
+    private static class IdAdapter extends BasePieChartAdapter {
+
+        private long[] mIds;
+        private float[] mPercents;
+
+        void setItems(long[] ids, float[] percents) {
+            mIds = ids;
+            mPercents = percents;
+        }
+
+        @Override
+        public int getCount() {
+            return mIds.length;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return mPercents[position];
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return mIds[position];
+        }
+
+        @Override
+        public float getPercent(int position) {
+            return mPercents[position];
+        }
+
+        @Override
+        public int getSliceColor(int position) {
+            return (int) mIds[position];
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.piechartview.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.piechartview.core.FloatTween;
+import com.piechartview.extra.FrictionDynamics;
+
+/**
+ * Per frame cost of fling integration and of the tween behind ThreadAnimator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+
+    private static final long FRAME_MILLIS = 16;
+
+    private FrictionDynamics mDynamics;
+    private FloatTween mTween;
+    private long mNow;
+
+    @Setup
+    public void setUp() {
+
+        mDynamics = new FrictionDynamics(0.98f);
+        mTween = new FloatTween();
+        mTween.setFloatValues(0, 360);
+        mTween.setDuration(Long.MAX_VALUE / 2);
+    }
+
+    @Benchmark
+    public float frictionDynamicsUpdate() {
+
+        // Restart the fling once it comes to rest so every call integrates
+        if (mDynamics.isAtRest(40f)) {
+            mDynamics.setState(0, 2000, mNow);
+        }
+
+        mNow += FRAME_MILLIS;
+        mDynamics.update(mNow);
+
+        return mDynamics.getPosition();
+    }
+
+    @Benchmark
+    public float floatTweenUpdate() {
+
+        if (!mTween.isRunning()) {
+            mTween.start(mNow);
+        }
+
+        mNow += FRAME_MILLIS;
+
+        return mTween.update(mNow);
+    }
+}
@@ -0,0 +1,49 @@
+package com.piechartview.benchmarks;
+
+import java.util.Random;
+
+import com.piechartview.core.SliceSource;
+
+/**
+ * Deterministic chart data shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {}
+
+    /**
+     * Returns count random percents that add up to 1.
+     */
+    static float[] percents(int count, long seed) {
+
+        final Random random = new Random(seed);
+        final float[] percents = new float[count];
+
+        float total = 0;
+        for (int i = 0; i < count; i++) {
+            percents[i] = random.nextFloat() + 0.01f;
+            total += percents[i];
+        }
+
+        for (int i = 0; i < count; i++) {
+            percents[i] /= total;
+        }
+
+        return percents;
+    }
+
+    static SliceSource source(final float[] percents) {
+        return new SliceSource() {
+
+            @Override
+            public int getCount() {
+                return percents.length;
+            }
+
+            @Override
+            public float getPercent(int position) {
+                return percents[position];
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.piechartview.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.piechartview.core.SliceLayout;
+import com.piechartview.core.SliceSource;
+
+/**
+ * Layout construction and angle lookups for charts of 10 to 100k slices.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SliceLayoutBenchmark {
+
+    private static final int ANGLE_COUNT = 1024;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int count;
+
+    private SliceSource mSource;
+    private SliceLayout mLayout;
+    private SliceLayout.Builder mBuilder;
+    private float[] mStartAngles;
+    private float[] mAngles;
+    private int mAngleIndex;
+
+    @Setup
+    public void setUp() {
+
+        final float[] percents = BenchmarkData.percents(count, 42);
+
+        mSource = BenchmarkData.source(percents);
+        mBuilder = new SliceLayout.Builder();
+        mLayout = SliceLayout.compute(mSource);
+
+        mStartAngles = new float[count];
+        for (int i = 0; i < count; i++) {
+            mStartAngles[i] = mLayout.getStartAngle(i);
+        }
+
+        final Random random = new Random(7);
+        mAngles = new float[ANGLE_COUNT];
+        for (int i = 0; i < ANGLE_COUNT; i++) {
+            mAngles[i] = random.nextFloat() * 360;
+        }
+    }
+
+    private float nextAngle() {
+        mAngleIndex = (mAngleIndex + 1) & (ANGLE_COUNT - 1);
+        return mAngles[mAngleIndex];
+    }
+
+    @Benchmark
+    public SliceLayout compute() {
+        return SliceLayout.compute(mSource);
+    }
+
+    @Benchmark
+    public SliceLayout computeReusingBuilder() {
+        return SliceLayout.compute(mSource, 0, 0, mBuilder);
+    }
+
+    @Benchmark
+    public SliceLayout computeTopTwenty() {
+        return SliceLayout.compute(mSource, 0, 20, mBuilder);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return mLayout.indexOf(nextAngle());
+    }
+
+    /**
+     * The slice walk snapTo and the old hit test did, kept as a baseline.
+     */
+    @Benchmark
+    public int linearScan() {
+
+        final float degree = nextAngle();
+
+        for (int i = 0; i < count; i++) {
+
+            final float start = mStartAngles[i];
+
+            if (start < degree && degree <= start + mLayout.getSweep(i)) {
+                return i;
+            }
+        }
+
+        return SliceLayout.INVALID_INDEX;
+    }
+}
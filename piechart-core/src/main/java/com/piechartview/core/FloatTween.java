@@ -0,0 +1,90 @@
+package com.piechartview.core;
+
+/**
+ * Time based interpolation between two floats, driven by timestamps supplied
+ * by the caller so it can run on any thread and under any clock.
+ */
+public class FloatTween {
+
+    /**
+     * Maps the elapsed fraction of the duration to the fraction of the change.
+     */
+    public interface Easing {
+        float getInterpolation(float input);
+    }
+
+    /** Same curve as android.view.animation.AccelerateDecelerateInterpolator */
+    public static final Easing ACCELERATE_DECELERATE = new Easing() {
+
+        @Override
+        public float getInterpolation(float input) {
+            return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+        }
+    };
+
+    private float mStart, mEnd, mChange;
+    private long mStartTime;
+    private long mDuration = 1000;
+    private Easing mEasing = ACCELERATE_DECELERATE;
+    private boolean mRunning = false;
+
+    public void setFloatValues(float start, float end) {
+        mStart = start;
+        mEnd = end;
+        mChange = end - start;
+    }
+
+    public float getEnd() {
+        return mEnd;
+    }
+
+    public void setDuration(long duration) {
+        mDuration = duration;
+    }
+
+    public long getDuration() {
+        return mDuration;
+    }
+
+    public void setEasing(Easing easing) {
+        mEasing = easing;
+    }
+
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    public void start(long now) {
+        mRunning = true;
+        mStartTime = now;
+    }
+
+    public void cancel() {
+        mRunning = false;
+    }
+
+    /**
+     * Returns the value at the given time. Once the duration has passed the end
+     * value is returned and the tween stops running.
+     *
+     * @param now The current time in milliseconds, on the clock passed to start
+     */
+    public float update(long now) {
+
+        if (!mRunning) return mEnd;
+
+        // A vsync timestamp can be slightly older than the start time
+        float duration = Math.max(0, now - mStartTime);
+
+        if (duration >= mDuration) {
+
+            mRunning = false;
+
+            return mEnd;
+        }
+
+        float progress = mEasing.getInterpolation(duration / mDuration);
+
+        return mStart + mChange * progress;
+    }
+}
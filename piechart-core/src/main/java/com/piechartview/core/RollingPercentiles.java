@@ -0,0 +1,70 @@
+package com.piechartview.core;
+
+import java.util.Arrays;
+
+/**
+ * Percentiles over the last values added, for frame timings. Storage is fixed
+ * at construction, adding a value and reading a percentile never allocate.
+ */
+public final class RollingPercentiles {
+
+    private final long[] mValues;
+    private final long[] mSorted;
+    private int mNext;
+    private int mSize;
+    private boolean mSortedValid;
+
+    /**
+     * @param capacity Number of most recent values the percentiles cover
+     */
+    public RollingPercentiles(int capacity) {
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+
+        mValues = new long[capacity];
+        mSorted = new long[capacity];
+    }
+
+    public void add(long value) {
+
+        mValues[mNext] = value;
+        mNext = (mNext + 1) % mValues.length;
+
+        if (mSize < mValues.length) mSize++;
+
+        mSortedValid = false;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public void clear() {
+        mNext = 0;
+        mSize = 0;
+        mSortedValid = false;
+    }
+
+    /**
+     * Returns the nearest rank percentile of the window, or 0 when empty. The
+     * window is sorted at most once per added value.
+     *
+     * @param percentile Between 0 and 100
+     */
+    public long getPercentile(float percentile) {
+
+        if (mSize == 0) return 0;
+
+        if (!mSortedValid) {
+            System.arraycopy(mValues, 0, mSorted, 0, mSize);
+            Arrays.sort(mSorted, 0, mSize);
+            mSortedValid = true;
+        }
+
+        final int rank = (int) Math.ceil(percentile / 100 * mSize);
+
+        return mSorted[Math.min(mSize - 1, Math.max(0, rank - 1))];
+    }
+}
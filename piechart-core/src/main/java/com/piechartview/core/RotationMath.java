@@ -0,0 +1,48 @@
+package com.piechartview.core;
+
+/**
+ * Angle arithmetic used to rotate a chart onto its snap anchor.
+ */
+public final class RotationMath {
+
+    private RotationMath() {}
+
+    /**
+     * Wraps a degree into 0 - 360.
+     */
+    public static float normalize(float degree) {
+
+        degree %= 360;
+        if (degree < 0) degree += 360;
+
+        return degree;
+    }
+
+    /**
+     * Returns the chart rotation that puts the given slice center on the snap degree.
+     *
+     * @param sliceCenter The slice center in chart coordinates
+     * @param snapDegree The anchor on screen
+     * @return A rotation between 0 - 360
+     */
+    public static float snapRotation(float sliceCenter, float snapDegree) {
+        return normalize(snapDegree - sliceCenter);
+    }
+
+    /**
+     * Moves start by a full turn when needed so animating from start to target
+     * takes the short way around.
+     *
+     * @param start The current rotation between 0 - 360
+     * @param target The target rotation between 0 - 360
+     * @return The start rotation to animate from
+     */
+    public static float shortestStart(float start, float target) {
+
+        if (Math.abs(start - target) % 360f > 180f) {
+            return start > target ? start - 360 : start + 360;
+        }
+
+        return start;
+    }
+}
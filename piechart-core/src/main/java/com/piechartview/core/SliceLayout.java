@@ -0,0 +1,252 @@
+package com.piechartview.core;
+
+import java.util.Arrays;
+
+/**
+ * Immutable angular layout of the slices of a chart. Slice start angles are
+ * kept as prefix sums, so angle lookups are a binary search and every slice
+ * query is constant time. Layouts hold no Android types and can be computed on
+ * any thread.
+ */
+public final class SliceLayout {
+
+    public static final int INVALID_INDEX = -1;
+
+    /** Position reported for the slice that aggregates folded items */
+    public static final int OTHER_POSITION = -2;
+
+    public static final SliceLayout EMPTY = new SliceLayout(new float[1], new int[0], 0);
+
+    /** Start angle of every slice, the entry at mCount is the end of the last slice */
+    private final float[] mStartAngles;
+    private final int[] mPositions;
+    private final int mCount;
+
+    private SliceLayout(float[] startAngles, int[] positions, int count) {
+        mStartAngles = startAngles;
+        mPositions = positions;
+        mCount = count;
+    }
+
+    /**
+     * Computes the layout of every item of the source.
+     */
+    public static SliceLayout compute(SliceSource source) {
+        return compute(source, 0, 0, null);
+    }
+
+    /**
+     * Computes the layout of the source, folding the tail into one slice at the
+     * end with position {@link #OTHER_POSITION}. Items smaller than minDegrees
+     * are folded, and when maxSlices is positive only the maxSlices largest
+     * items keep their own slice (items tied with the smallest kept one are
+     * kept too).
+     *
+     * @param minDegrees Minimum slice angle, 0 to disable
+     * @param maxSlices Maximum number of item slices, 0 to disable
+     * @param scratch Optional builder whose storage is reused
+     */
+    public static SliceLayout compute(SliceSource source, float minDegrees, int maxSlices, Builder scratch) {
+
+        final Builder builder = scratch != null ? scratch : new Builder();
+        final int count = source.getCount();
+        final float threshold = getFoldThreshold(source, minDegrees, maxSlices, builder);
+
+        float other = 0;
+        int otherCount = 0;
+
+        builder.clear();
+
+        for (int position = 0; position < count; position++) {
+
+            final float percent = source.getPercent(position);
+
+            if (percent < threshold) {
+                other += percent;
+                otherCount++;
+            } else {
+                builder.add(percent * 360, position);
+            }
+        }
+
+        if (otherCount > 0) {
+            builder.add(other * 360, OTHER_POSITION);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns the percent below which items are folded, 0 when nothing is folded
+     */
+    private static float getFoldThreshold(SliceSource source, float minDegrees, int maxSlices, Builder builder) {
+
+        float threshold = minDegrees / 360f;
+        final int count = source.getCount();
+
+        if (maxSlices > 0 && count > maxSlices) {
+
+            final float[] percents = builder.scratch(count);
+
+            for (int i = 0; i < count; i++) {
+                percents[i] = source.getPercent(i);
+            }
+
+            // The smallest percent that still makes the top maxSlices
+            Arrays.sort(percents, 0, count);
+            threshold = Math.max(threshold, percents[count - maxSlices]);
+        }
+
+        return threshold;
+    }
+
+    public int size() {
+        return mCount;
+    }
+
+    public float getStartAngle(int index) {
+        return mStartAngles[index];
+    }
+
+    public float getEndAngle(int index) {
+        return mStartAngles[index + 1];
+    }
+
+    public float getSweep(int index) {
+        return mStartAngles[index + 1] - mStartAngles[index];
+    }
+
+    public float getCenterAngle(int index) {
+        return (mStartAngles[index] + mStartAngles[index + 1]) / 2;
+    }
+
+    /**
+     * Returns the sum of all slice angles, 360 for a complete chart
+     */
+    public float getTotalAngle() {
+        return mStartAngles[mCount];
+    }
+
+    /**
+     * Returns the source position shown by the slice, or {@link #OTHER_POSITION}
+     */
+    public int getPosition(int index) {
+        return mPositions[index];
+    }
+
+    /**
+     * Returns the index of the slice containing the given angle. Slices
+     * contain their end angle but not their start angle.
+     *
+     * @param degree An angle in chart coordinates, any value is wrapped into 0 - 360
+     * @return The slice index or INVALID_INDEX if no slice covers the angle
+     */
+    public int indexOf(float degree) {
+        return indexOf(mStartAngles, mCount, degree);
+    }
+
+    /**
+     * Returns the index of the slice shown at a screen angle while the chart is
+     * rotated by rotation degrees.
+     */
+    public int indexAt(float rotation, float degree) {
+        return indexOf(degree - rotation);
+    }
+
+    /**
+     * Returns the rotation that puts the center of the slice on the snap degree.
+     */
+    public float getSnapRotation(int index, float snapDegree) {
+        return RotationMath.snapRotation(getCenterAngle(index), snapDegree);
+    }
+
+    /**
+     * Binary search over prefix sums of slice angles.
+     *
+     * @param startAngles count + 1 ascending angles starting at 0
+     */
+    static int indexOf(float[] startAngles, int count, float degree) {
+
+        if (count == 0) return INVALID_INDEX;
+
+        degree %= 360;
+        if (degree <= 0) degree += 360;
+
+        if (degree > startAngles[count]) return INVALID_INDEX;
+
+        // Find the first slice whose end angle reaches the degree
+        int low = 0;
+        int high = count - 1;
+
+        while (low < high) {
+
+            int mid = (low + high) >>> 1;
+
+            if (startAngles[mid + 1] < degree) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Collects slices in order. A builder can be cleared and reused, only
+     * {@link #build()} allocates the arrays of the immutable layout.
+     */
+    public static final class Builder {
+
+        private float[] mStartAngles = new float[17];
+        private int[] mPositions = new int[16];
+        private float[] mScratch;
+        private int mCount;
+
+        public Builder clear() {
+            mCount = 0;
+            return this;
+        }
+
+        /**
+         * Appends a slice after the last one added.
+         *
+         * @param sweep The slice angle in degrees
+         * @param position The source position shown by the slice
+         */
+        public Builder add(float sweep, int position) {
+
+            if (mCount == mPositions.length) {
+                mPositions = Arrays.copyOf(mPositions, mCount * 2);
+                mStartAngles = Arrays.copyOf(mStartAngles, mCount * 2 + 1);
+            }
+
+            mStartAngles[mCount + 1] = mStartAngles[mCount] + sweep;
+            mPositions[mCount] = position;
+            mCount++;
+
+            return this;
+        }
+
+        public int size() {
+            return mCount;
+        }
+
+        public SliceLayout build() {
+
+            if (mCount == 0) return EMPTY;
+
+            return new SliceLayout(Arrays.copyOf(mStartAngles, mCount + 1),
+                    Arrays.copyOf(mPositions, mCount), mCount);
+        }
+
+        private float[] scratch(int size) {
+
+            if (mScratch == null || mScratch.length < size) {
+                mScratch = new float[size];
+            }
+
+            return mScratch;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.piechartview.core;
+
+/**
+ * The data a {@link SliceLayout} is computed from.
+ */
+public interface SliceSource {
+
+    int getCount();
+
+    /**
+     * Returns the share of the chart of the item at position, 1 being the whole chart
+     */
+    float getPercent(int position);
+}
@@ -0,0 +1,192 @@
+package com.piechartview.extra;
+
+
+/**
+ * Utility class used to handle flinging within a specified limit. The motion
+ * is computed in closed form from the state passed to setState, so the
+ * position at any time is the same no matter how often update is called.
+ */
+public abstract class Dynamics {
+    
+    public final String TAG = this.getClass().getSimpleName();
+
+    /** The current position */
+    protected float mPosition;
+
+    /** The current velocity */
+    protected float mVelocity;
+
+    /** The time of the last update */
+    protected long mLastTime = 0;
+
+    /** The state the motion started from */
+    private float mStartPosition;
+    private float mStartVelocity;
+    private long mStartTime;
+
+    /** Distance the snap spring adds on top of the natural motion */
+    private float mSnapOffset;
+
+    /**
+     * Sets the state of the dynamics object. Should be called before starting
+     * to call update.
+     * 
+     * @param position The current position.
+     * @param velocity The current velocity in pixels per second.
+     * @param now The current time
+     */
+    public void setState(final float position, final float velocity, final long now) {
+        mVelocity = velocity;
+        mPosition = position;
+        mLastTime = now;
+
+        mStartPosition = position;
+        mStartVelocity = velocity;
+        mStartTime = now;
+        mSnapOffset = 0;
+    }
+
+    /**
+     * Returns the current position. Normally used after a call to update() in
+     * order to get the updated position.
+     * 
+     * @return The current position
+     */
+    public float getPosition() {
+        return mPosition;
+    }
+
+    /**
+     * Gets the velocity. Unit is in pixels per second.
+     * 
+     * @return The velocity in pixels per second
+     */
+    public float getVelocity() {
+        return mVelocity;
+    }
+
+    /**
+     * Returns the position the motion comes to rest at, including any snap
+     * target. Known as soon as setState was called.
+     */
+    public float getFinalPosition() {
+        return mStartPosition + getTotalDistance(mStartVelocity) + mSnapOffset;
+    }
+
+    /**
+     * Bends the motion so it comes to rest exactly at target. The correction
+     * is a critically damped spring starting with no offset and no velocity,
+     * so position and velocity stay continuous.
+     * 
+     * @param target The resting position, normally close to getFinalPosition
+     */
+    public void snapTo(final float target) {
+
+        final float natural = mStartPosition + getTotalDistance(mStartVelocity);
+
+        // An endless motion has nowhere to snap to
+        if (Float.isInfinite(natural)) return;
+
+        mSnapOffset = target - natural;
+    }
+
+    /**
+     * Used to find out if the list is at rest, that is, has no velocity.
+     * Normally used to know if more calls to update are
+     * needed.
+     * 
+     * @param velocityTolerance Velocity is regarded as 0 if less than
+     *            velocityTolerance
+     * 
+     * @return true if list is at rest, false otherwise
+     */
+    public boolean isAtRest(final float velocityTolerance) {
+    	
+        final boolean standingStill = Math.abs(mVelocity) < velocityTolerance;
+
+        // Close enough that one more frame at the tolerance would cover it
+        final boolean arrived = Math.abs(getFinalPosition() - mPosition) < velocityTolerance / 60;
+        
+        return standingStill && arrived;
+    }
+
+    /**
+     * Updates the position and velocity.
+     * 
+     * @param now The current time
+     */
+    public void update(final long now) {
+
+        mPosition = getPositionAt(now);
+        mVelocity = getVelocityAt(now);
+
+        mLastTime = now;
+    }
+
+    /**
+     * Returns the position at the given time without changing the state
+     */
+    public float getPositionAt(final long time) {
+
+        final float seconds = getSeconds(time);
+
+        return mStartPosition + getDistanceAfter(mStartVelocity, seconds)
+                + mSnapOffset * getSnapProgress(seconds);
+    }
+
+    /**
+     * Returns the velocity at the given time without changing the state
+     */
+    public float getVelocityAt(final long time) {
+
+        final float seconds = getSeconds(time);
+        final float rate = getSnapRate();
+
+        // Derivative of the snap progress
+        final float snapVelocity = rate * rate * seconds * (float) Math.exp(-rate * seconds);
+
+        return getVelocityAfter(mStartVelocity, seconds) + mSnapOffset * snapVelocity;
+    }
+
+    private float getSeconds(final long time) {
+        return Math.max(0, time - mStartTime) / 1000f;
+    }
+
+    /**
+     * Returns how far the snap spring has moved, from 0 at the start to 1 at rest
+     */
+    private float getSnapProgress(final float seconds) {
+
+        final float rate = getSnapRate();
+
+        return 1 - (1 + rate * seconds) * (float) Math.exp(-rate * seconds);
+    }
+
+    /**
+     * Returns the distance travelled after the given time
+     * 
+     * @param velocity The start velocity
+     * @param seconds Time since the start
+     */
+    abstract protected float getDistanceAfter(float velocity, float seconds);
+
+    /**
+     * Returns the velocity after the given time
+     * 
+     * @param velocity The start velocity
+     * @param seconds Time since the start
+     */
+    abstract protected float getVelocityAfter(float velocity, float seconds);
+
+    /**
+     * Returns the distance travelled once the motion has come to rest
+     * 
+     * @param velocity The start velocity
+     */
+    abstract protected float getTotalDistance(float velocity);
+
+    /**
+     * Returns the rate, per second, of the spring that settles a snap
+     */
+    abstract protected float getSnapRate();
+}
@@ -0,0 +1,54 @@
+package com.piechartview.extra;
+
+/**
+ * Exponentially decaying fling. The velocity after t seconds is
+ * v * e^(-kt), so the fling covers v / k in total.
+ */
+public class FrictionDynamics extends Dynamics {
+
+    /** The update interval the friction factor is expressed in, in seconds */
+    private static final float REFERENCE_STEP = 0.008f;
+
+    private final float mDecayRate;
+
+    /**
+     * @param frictionFactor Fraction of the velocity kept every 8 ms, 1 means
+     *            endless scroll
+     */
+    public FrictionDynamics(final float frictionFactor) {
+
+        if (frictionFactor <= 0 || frictionFactor > 1) {
+            throw new IllegalArgumentException("frictionFactor must be in (0, 1]: " + frictionFactor);
+        }
+
+        mDecayRate = (float) -Math.log(frictionFactor) / REFERENCE_STEP;
+    }
+
+    @Override
+    protected float getDistanceAfter(final float velocity, final float seconds) {
+
+        if (mDecayRate == 0) return velocity * seconds;
+
+        return velocity / mDecayRate * (1 - (float) Math.exp(-mDecayRate * seconds));
+    }
+
+    @Override
+    protected float getVelocityAfter(final float velocity, final float seconds) {
+        return velocity * (float) Math.exp(-mDecayRate * seconds);
+    }
+
+    @Override
+    protected float getTotalDistance(final float velocity) {
+
+        if (mDecayRate == 0) return velocity == 0 ? 0 : Math.copySign(Float.POSITIVE_INFINITY, velocity);
+
+        return velocity / mDecayRate;
+    }
+
+    @Override
+    protected float getSnapRate() {
+
+        // Endless scrolls never snap, any rate will do
+        return mDecayRate == 0 ? 1 : mDecayRate;
+    }
+}
@@ -0,0 +1,40 @@
+package com.piechartview.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RollingPercentilesTest {
+
+    @Test
+    public void getPercentile_usesNearestRank() {
+        RollingPercentiles percentiles = new RollingPercentiles(100);
+
+        for (int i = 100; i >= 1; i--) {
+            percentiles.add(i);
+        }
+
+        assertEquals(50, percentiles.getPercentile(50));
+        assertEquals(90, percentiles.getPercentile(90));
+        assertEquals(100, percentiles.getPercentile(100));
+        assertEquals(1, percentiles.getPercentile(0));
+    }
+
+    @Test
+    public void add_dropsOldestOnceFull() {
+        RollingPercentiles percentiles = new RollingPercentiles(3);
+
+        percentiles.add(1000);
+        percentiles.add(1);
+        percentiles.add(2);
+        percentiles.add(3);
+
+        assertEquals(3, percentiles.size());
+        assertEquals(3, percentiles.getPercentile(100));
+    }
+
+    @Test
+    public void getPercentile_isZeroWhenEmpty() {
+        assertEquals(0, new RollingPercentiles(8).getPercentile(99));
+    }
+}
@@ -0,0 +1,109 @@
+package com.piechartview.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SliceLayoutTest {
+
+    private static SliceSource source(final float... percents) {
+        return new SliceSource() {
+
+            @Override
+            public int getCount() {
+                return percents.length;
+            }
+
+            @Override
+            public float getPercent(int position) {
+                return percents[position];
+            }
+        };
+    }
+
+    @Test
+    public void compute_keepsPrefixSums() {
+        SliceLayout layout = SliceLayout.compute(source(0.25f, 0.5f, 0.25f));
+
+        assertEquals(3, layout.size());
+        assertEquals(0f, layout.getStartAngle(0), 0.001f);
+        assertEquals(90f, layout.getStartAngle(1), 0.001f);
+        assertEquals(270f, layout.getStartAngle(2), 0.001f);
+        assertEquals(360f, layout.getTotalAngle(), 0.001f);
+        assertEquals(180f, layout.getCenterAngle(1), 0.001f);
+        assertEquals(2, layout.getPosition(2));
+    }
+
+    @Test
+    public void indexOf_usesExclusiveStartInclusiveEnd() {
+        SliceLayout layout = SliceLayout.compute(source(0.25f, 0.5f, 0.25f));
+
+        assertEquals(0, layout.indexOf(45f));
+        assertEquals(0, layout.indexOf(90f));
+        assertEquals(1, layout.indexOf(90.5f));
+        assertEquals(2, layout.indexOf(359f));
+        assertEquals(2, layout.indexOf(0f));
+        assertEquals(2, layout.indexOf(-10f));
+        assertEquals(0, layout.indexOf(405f));
+    }
+
+    @Test
+    public void indexAt_undoesRotation() {
+        SliceLayout layout = SliceLayout.compute(source(0.25f, 0.5f, 0.25f));
+
+        assertEquals(1, layout.indexAt(90f, 200f));
+        assertEquals(0, layout.indexAt(300f, 350f));
+    }
+
+    @Test
+    public void indexOf_handlesManySlices() {
+        int count = 10000;
+        float[] percents = new float[count];
+        for (int i = 0; i < count; i++) {
+            percents[i] = 1f / count;
+        }
+
+        SliceLayout layout = SliceLayout.compute(source(percents));
+
+        for (int i = 0; i < count; i += 97) {
+            assertEquals(i, layout.indexOf(layout.getCenterAngle(i)));
+        }
+    }
+
+    @Test
+    public void compute_foldsSlicesBelowMinimumAngle() {
+        SliceLayout layout = SliceLayout.compute(source(0.5f, 0.005f, 0.49f, 0.005f), 5f, 0, null);
+
+        assertEquals(3, layout.size());
+        assertEquals(0, layout.getPosition(0));
+        assertEquals(2, layout.getPosition(1));
+        assertEquals(SliceLayout.OTHER_POSITION, layout.getPosition(2));
+        assertEquals(3.6f, layout.getSweep(2), 0.001f);
+    }
+
+    @Test
+    public void compute_keepsTopSlices() {
+        SliceLayout layout = SliceLayout.compute(source(0.1f, 0.4f, 0.2f, 0.3f), 0f, 2, null);
+
+        assertEquals(3, layout.size());
+        assertEquals(1, layout.getPosition(0));
+        assertEquals(3, layout.getPosition(1));
+        assertEquals(SliceLayout.OTHER_POSITION, layout.getPosition(2));
+        assertEquals(108f, layout.getSweep(2), 0.001f);
+    }
+
+    @Test
+    public void snapRotation_centersSliceOnAnchor() {
+        SliceLayout layout = SliceLayout.compute(source(0.25f, 0.75f));
+
+        assertEquals(45f, layout.getSnapRotation(0, 90f), 0.001f);
+        assertEquals(225f, layout.getSnapRotation(1, 90f), 0.001f);
+    }
+
+    @Test
+    public void shortestStart_wrapsAcrossZero() {
+        assertEquals(-10f, RotationMath.shortestStart(350f, 20f), 0.001f);
+        assertEquals(370f, RotationMath.shortestStart(10f, 340f), 0.001f);
+        assertEquals(100f, RotationMath.shortestStart(100f, 200f), 0.001f);
+    }
+}
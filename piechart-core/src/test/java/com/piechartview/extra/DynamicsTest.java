@@ -0,0 +1,69 @@
+package com.piechartview.extra;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DynamicsTest {
+
+    private static float flingTo(Dynamics dynamics, long end, long step) {
+
+        dynamics.setState(10, 900, 0);
+
+        for (long now = step; now < end; now += step) {
+            dynamics.update(now);
+        }
+
+        dynamics.update(end);
+
+        return dynamics.getPosition();
+    }
+
+    @Test
+    public void update_doesNotDependOnFrameRate() {
+        float smooth = flingTo(new FrictionDynamics(0.98f), 500, 8);
+        float janky = flingTo(new FrictionDynamics(0.98f), 500, 120);
+
+        assertEquals(smooth, janky, 0.001f);
+    }
+
+    @Test
+    public void finalPosition_isKnownAtStart() {
+        Dynamics dynamics = new FrictionDynamics(0.98f);
+        dynamics.setState(10, 900, 0);
+
+        float expected = dynamics.getFinalPosition();
+        dynamics.update(60000);
+
+        assertEquals(expected, dynamics.getPosition(), 0.01f);
+        assertTrue(dynamics.isAtRest(40f));
+    }
+
+    @Test
+    public void snapTo_landsOnTargetWithoutJump() {
+        Dynamics dynamics = new FrictionDynamics(0.98f);
+        dynamics.setState(10, 900, 0);
+
+        float target = dynamics.getFinalPosition() + 30;
+        dynamics.snapTo(target);
+
+        assertEquals(10f, dynamics.getPositionAt(0), 0.001f);
+        assertEquals(900f, dynamics.getVelocityAt(0), 0.001f);
+
+        dynamics.update(60000);
+
+        assertEquals(target, dynamics.getFinalPosition(), 0.001f);
+        assertEquals(target, dynamics.getPosition(), 0.01f);
+    }
+
+    @Test
+    public void endlessFling_neverRests() {
+        Dynamics dynamics = new FrictionDynamics(1f);
+        dynamics.setState(0, 100, 0);
+        dynamics.snapTo(45);
+        dynamics.update(2000);
+
+        assertEquals(200f, dynamics.getPosition(), 0.001f);
+        assertFalse(dynamics.isAtRest(40f));
+    }
+}